@@ -8,4 +8,11 @@ import java.lang.annotation.Target;
 @Target( ElementType.TYPE )
 @Retention( RetentionPolicy.CLASS )
 public @interface FluentGenerator {
+
+	/**
+	 * When set, besides generator interface also {@code XxxGeneratorImpl} class implementing it is generated. It calls
+	 * model constructor and setters directly, so no reflection is used when building objects.
+	 */
+	boolean implementation() default false;
+
 }
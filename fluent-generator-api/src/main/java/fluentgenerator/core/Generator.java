@@ -1,6 +1,10 @@
 package fluentgenerator.core;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Basic interface for Generators.
@@ -42,8 +46,79 @@ public interface Generator<T> extends Supplier<T> {
 		throw new UnsupportedOperationException();
 	}
 
+	/**
+	 * Sets configured properties on given instance instead of creating new one. It allows to recycle instances
+	 * which are no longer used. Properties which are not configured keep their current values. Implementations
+	 * fail for types which get properties through constructor, or which are always built as new objects, like
+	 * {@code JsonNode}.
+	 *
+	 * @param target instance to fill in
+	 * @return given instance
+	 */
+	default T buildInto(T target) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Returns frozen copy of this generator. Configuration of frozen generator can't change, so single frozen
+	 * generator may be shared by many threads building objects at the same time. Configured suppliers have to be
+	 * thread-safe then.
+	 * <p>
+	 * Setter called on frozen generator leaves it intact and returns modified copy, which is not frozen. Setters
+	 * which don't return generator can't be called on frozen generator.
+	 * <p>
+	 * Generator interfaces may redeclare this method with their own return type.
+	 *
+	 * @return frozen generator implementing the same interface as this one
+	 */
+	default Generator<T> freeze() {
+		throw new UnsupportedOperationException();
+	}
+
 	@Override
 	default T get() {
 		return this.build();
 	}
+
+	/**
+	 * Builds {@code n} new instances.
+	 * <p>
+	 * Implementations may resolve generator configuration once for whole batch, so it is preferred over calling
+	 * {@link #build()} in a loop.
+	 *
+	 * @param n number of instances to build
+	 * @return list with new instances
+	 */
+	default List<T> buildMany(int n) {
+		List<T> items = new ArrayList<>(n);
+		fill(items, n);
+		return items;
+	}
+
+	/**
+	 * Builds {@code n} new instances and adds them to given collection.
+	 *
+	 * @param collection collection to fill in
+	 * @param n          number of instances to build
+	 */
+	default void fill(Collection<? super T> collection, int n) {
+		for(int i = n; i > 0; i--) {
+			collection.add(this.build());
+		}
+	}
+
+	/**
+	 * @return infinite sequential stream of new instances
+	 */
+	default Stream<T> stream() {
+		return Stream.generate(this);
+	}
+
+	/**
+	 * @param n number of instances in stream
+	 * @return sequential stream of {@code n} new instances
+	 */
+	default Stream<T> stream(long n) {
+		return stream().limit(n);
+	}
 }
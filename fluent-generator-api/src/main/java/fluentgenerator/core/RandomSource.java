@@ -0,0 +1,150 @@
+package fluentgenerator.core;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Source of randomness used by suppliers and generators.
+ * <p>
+ * By default values come from {@link ThreadLocalRandom}, so they can't be reproduced. When {@link SplittableRandom}
+ * is bound to current thread, with {@link #withRandom(SplittableRandom, Supplier)} or {@link #withSeed(long,
+ * Supplier)}, every value drawn on this thread comes from it instead. As a result, same seed always yields same
+ * sequence of generated objects.
+ *
+ * @author pkorus
+ */
+public final class RandomSource {
+
+	private static final ThreadLocal<SeededRandom> BOUND = new ThreadLocal<>();
+
+	private RandomSource() {}
+
+	/**
+	 * @return random bound to current thread or {@link ThreadLocalRandom} if there is no such
+	 */
+	public static Random current() {
+		Random bound = BOUND.get();
+		return bound != null ? bound : ThreadLocalRandom.current();
+	}
+
+	/**
+	 * @param origin lowest value, inclusive
+	 * @param bound  upper bound, exclusive
+	 * @return random value from given range
+	 */
+	public static int nextInt(int origin, int bound) {
+		SeededRandom seeded = BOUND.get();
+		return seeded != null ? seeded.delegate.nextInt(origin, bound) : ThreadLocalRandom.current().nextInt(origin, bound);
+	}
+
+	/**
+	 * @param bound upper bound, exclusive
+	 * @return random value between 0 and given bound
+	 */
+	public static int nextInt(int bound) {
+		SeededRandom seeded = BOUND.get();
+		return seeded != null ? seeded.delegate.nextInt(bound) : ThreadLocalRandom.current().nextInt(bound);
+	}
+
+	/**
+	 * @param origin lowest value, inclusive
+	 * @param bound  upper bound, exclusive
+	 * @return random value from given range
+	 */
+	public static long nextLong(long origin, long bound) {
+		SeededRandom seeded = BOUND.get();
+		return seeded != null ? seeded.delegate.nextLong(origin, bound) : ThreadLocalRandom.current().nextLong(origin, bound);
+	}
+
+	/**
+	 * @param origin lowest value, inclusive
+	 * @param bound  upper bound, exclusive
+	 * @return random value from given range
+	 */
+	public static double nextDouble(double origin, double bound) {
+		SeededRandom seeded = BOUND.get();
+		return seeded != null ? seeded.delegate.nextDouble(origin, bound) : ThreadLocalRandom.current().nextDouble(origin, bound);
+	}
+
+	/**
+	 * Executes action with given random bound to current thread.
+	 *
+	 * @param random random to use
+	 * @param action action to execute
+	 * @param <T>    type of action result
+	 * @return action result
+	 */
+	public static <T> T withRandom(SplittableRandom random, Supplier<T> action) {
+		SeededRandom previous = BOUND.get();
+		BOUND.set(new SeededRandom(random));
+		try {
+			return action.get();
+		} finally {
+			if (previous == null) {
+				BOUND.remove();
+			} else {
+				BOUND.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Executes action with random initialized with given seed bound to current thread.
+	 *
+	 * @param seed   seed of random
+	 * @param action action to execute
+	 * @param <T>    type of action result
+	 * @return action result
+	 */
+	public static <T> T withSeed(long seed, Supplier<T> action) {
+		return withRandom(new SplittableRandom(seed), action);
+	}
+
+	/**
+	 * Exposes {@link SplittableRandom} as {@link Random}, so that it can be passed to APIs expecting the latter.
+	 */
+	private static final class SeededRandom extends Random {
+		private final SplittableRandom delegate;
+
+		SeededRandom(SplittableRandom delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		protected int next(int bits) {
+			return delegate.nextInt() >>> (32 - bits);
+		}
+
+		@Override
+		public int nextInt() {
+			return delegate.nextInt();
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			return delegate.nextInt(bound);
+		}
+
+		@Override
+		public long nextLong() {
+			return delegate.nextLong();
+		}
+
+		@Override
+		public double nextDouble() {
+			return delegate.nextDouble();
+		}
+
+		@Override
+		public boolean nextBoolean() {
+			return delegate.nextBoolean();
+		}
+
+		@Override
+		public synchronized void setSeed(long seed) {
+			// seed is managed by delegate, Random constructor calls this method before delegate is set
+		}
+	}
+}
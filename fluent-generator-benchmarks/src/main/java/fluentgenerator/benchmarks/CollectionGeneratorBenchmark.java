@@ -0,0 +1,59 @@
+package fluentgenerator.benchmarks;
+
+import fluentgenerator.lib.generator.CollectionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CollectionGenerator#build()} and {@link CollectionGenerator#fill(Collection)}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionGeneratorBenchmark {
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	private CollectionGenerator<String> generator;
+	private List<String> target;
+
+	@Setup
+	public void setup() {
+		generator = CollectionGenerator.<String>create()
+			.add(() -> "a", size / 2)
+			.add(() -> "b", size - size / 2)
+			.randomize();
+		target = new ArrayList<>(size);
+	}
+
+	@Benchmark
+	public Collection<String> build() {
+		return generator.build();
+	}
+
+	@Benchmark
+	public List<String> fill() {
+		target.clear();
+		generator.fill(target);
+		return target;
+	}
+
+}
@@ -0,0 +1,83 @@
+package fluentgenerator.benchmarks;
+
+import fluentgenerator.benchmarks.model.Person;
+import fluentgenerator.benchmarks.model.PersonGenerator;
+import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.bytecode.BytecodeGeneratorFactory;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generators created by {@link ReflectGeneratorProxyFactory} and {@link BytecodeGeneratorFactory}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeneratorFactoryBenchmark {
+
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({"proxy", "bytecode"})
+	public String factory;
+
+	private PersonGenerator generator;
+	private long id;
+
+	@Setup
+	public void setup() {
+		GeneratorFactory generatorFactory = "proxy".equals(factory)
+			? new ReflectGeneratorProxyFactory()
+			: new BytecodeGeneratorFactory();
+
+		generator = generatorFactory.generatorInstance(PersonGenerator.class);
+		generator
+			.firstName("John")
+			.lastName("Smith")
+			.email(() -> "john.smith@example.com")
+			.age(42)
+			.id(() -> id++);
+	}
+
+	@Benchmark
+	public PersonGenerator setter() {
+		return generator.firstName("Jane");
+	}
+
+	@Benchmark
+	public PersonGenerator defaultMethod() {
+		return generator.adult("Jane");
+	}
+
+	@Benchmark
+	public Person build() {
+		return generator.build();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public List<Person> buildMany() {
+		return generator.buildMany(BATCH_SIZE);
+	}
+
+	@Benchmark
+	public Person setterAndBuild() {
+		return generator.age(18).build();
+	}
+}
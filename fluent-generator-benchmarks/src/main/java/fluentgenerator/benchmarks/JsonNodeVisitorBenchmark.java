@@ -0,0 +1,101 @@
+package fluentgenerator.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fluentgenerator.core.Generator;
+import fluentgenerator.lib.core.reflect.GenerationVisitor;
+import fluentgenerator.lib.core.reflect.JsonNodeObjectGenerationVisitor;
+import fluentgenerator.lib.core.reflect.Property;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures creating {@code JsonNode} with {@link JsonNodeObjectGenerationVisitor}, including
+ * {@link GenerationVisitor#finishObject()}.
+ * <p>
+ * {@code convertValueBaseline} repeats what visitor used to do, that is collecting values into map and converting it
+ * with new {@link ObjectMapper}. Run with GC profiler, as {@link BenchmarkRunner} does, to compare allocation per
+ * built node.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonNodeVisitorBenchmark {
+
+	public interface PersonNodeGenerator extends Generator<JsonNode> {
+		PersonNodeGenerator firstName(String v);
+		PersonNodeGenerator lastName(String v);
+		PersonNodeGenerator age(Integer v);
+		PersonNodeGenerator score(Double v);
+		PersonNodeGenerator active(Boolean v);
+		JsonNode build();
+	}
+
+	private Property[] properties;
+	private Supplier<Object>[] suppliers;
+	private PersonNodeGenerator generator;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		properties = new Property[] {
+			Property.build("firstName", String.class),
+			Property.build("lastName", String.class),
+			Property.build("age", int.class),
+			Property.build("score", double.class),
+			Property.build("active", boolean.class)
+		};
+		suppliers = new Supplier[] {
+			() -> "John",
+			() -> "Smith",
+			() -> 42,
+			() -> 0.75,
+			() -> true
+		};
+		generator = new ReflectGeneratorProxyFactory().generatorInstance(PersonNodeGenerator.class)
+			.firstName("John").lastName("Smith").age(42).score(0.75).active(true);
+	}
+
+	@Benchmark
+	public Object convertValueBaseline() {
+		ObjectMapper mapper = new ObjectMapper();
+		Map<String, Object> values = new HashMap<>();
+		for (int i = 0; i < properties.length; i++) {
+			values.put(properties[i].getName(), suppliers[i].get());
+		}
+		return mapper.convertValue(values, JsonNode.class);
+	}
+
+	@Benchmark
+	public Object generatorBuild() {
+		return generator.build();
+	}
+
+	@Benchmark
+	public Object visitorBuild() {
+		GenerationVisitor visitor = new JsonNodeObjectGenerationVisitor();
+		visitor.acceptConstructorStrategy(null);
+		for (int i = 0; i < properties.length; i++) {
+			visitor.acceptPropertySupplier(properties[i], suppliers[i]);
+		}
+		return visitor.finishObject();
+	}
+
+}
@@ -0,0 +1,103 @@
+package fluentgenerator.benchmarks;
+
+import fluentgenerator.supplier.LoremIpsumSupplier;
+import fluentgenerator.supplier.RandomStringSupplier;
+import fluentgenerator.supplier.Suppliers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Measures built-in suppliers from {@code fluent-generator-supplier} module.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SuppliersBenchmark {
+
+	private Supplier<String> randomString;
+	private RandomStringSupplier randomStringWithAffixes;
+	private final StringBuilder sink = new StringBuilder();
+	private Supplier<String> indexedString;
+	private Supplier<String> loremIpsum;
+	private Supplier<List<Integer>> subsetOfSmall;
+	private Supplier<List<Integer>> subsetOfLarge;
+	private Supplier<Integer> zipf;
+
+	@Setup
+	public void setup() {
+		randomString = RandomStringSupplier.Builder.create().length(16).build();
+		randomStringWithAffixes = RandomStringSupplier.Builder.create().randomLength(8, 16)
+			.prefix("user-").suffix("@example.com").build();
+		indexedString = Suppliers.indexedString("key-").blockSize(1024);
+		loremIpsum = new LoremIpsumSupplier().randomNumberOfWords(5, 20);
+		subsetOfSmall = Suppliers.subsetOf(numbers(100), 0, 10);
+		subsetOfLarge = Suppliers.subsetOf(numbers(100000), 0, 10);
+		zipf = Suppliers.zipf(numbers(100000), 1.0);
+	}
+
+	@Benchmark
+	public String randomString() {
+		return randomString.get();
+	}
+
+	@Benchmark
+	public String randomStringWithAffixes() {
+		return randomStringWithAffixes.get();
+	}
+
+	@Benchmark
+	public int randomStringWithAffixesAppendTo() {
+		sink.setLength(0);
+		return randomStringWithAffixes.appendTo(sink).length();
+	}
+
+	@Benchmark
+	public String indexedString() {
+		return indexedString.get();
+	}
+
+	@Benchmark
+	public String loremIpsum() {
+		return loremIpsum.get();
+	}
+
+	@Benchmark
+	public List<Integer> subsetOfSmall() {
+		return subsetOfSmall.get();
+	}
+
+	@Benchmark
+	public List<Integer> subsetOfLarge() {
+		return subsetOfLarge.get();
+	}
+
+	@Benchmark
+	public Integer zipf() {
+		return zipf.get();
+	}
+
+	private static List<Integer> numbers(int size) {
+		List<Integer> numbers = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			numbers.add(i);
+		}
+		return numbers;
+	}
+
+}
@@ -0,0 +1,27 @@
+package fluentgenerator.benchmarks.model;
+
+/**
+ * Simple bean used as generated model in benchmarks.
+ */
+public class Person {
+	private String firstName;
+	private String lastName;
+	private String email;
+	private int age;
+	private Long id;
+
+	public String getFirstName() { return firstName; }
+	public void setFirstName(String firstName) { this.firstName = firstName; }
+
+	public String getLastName() { return lastName; }
+	public void setLastName(String lastName) { this.lastName = lastName; }
+
+	public String getEmail() { return email; }
+	public void setEmail(String email) { this.email = email; }
+
+	public int getAge() { return age; }
+	public void setAge(int age) { this.age = age; }
+
+	public Long getId() { return id; }
+	public void setId(Long id) { this.id = id; }
+}
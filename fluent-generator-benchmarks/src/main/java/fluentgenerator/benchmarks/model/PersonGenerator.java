@@ -0,0 +1,19 @@
+package fluentgenerator.benchmarks.model;
+
+import fluentgenerator.core.Generator;
+
+import java.util.function.Supplier;
+
+public interface PersonGenerator extends Generator<Person> {
+	PersonGenerator firstName(String v);
+	PersonGenerator firstName(Supplier<String> v);
+	PersonGenerator lastName(String v);
+	PersonGenerator email(Supplier<String> v);
+	PersonGenerator age(int v);
+	PersonGenerator id(Supplier<Long> v);
+	Person build();
+
+	default PersonGenerator adult(String firstName) {
+		return firstName(firstName).age(30);
+	}
+}
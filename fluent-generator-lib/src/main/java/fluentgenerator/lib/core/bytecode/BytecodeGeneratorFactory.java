@@ -0,0 +1,253 @@
+package fluentgenerator.lib.core.bytecode;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.core.reflect.GenerationListener;
+import fluentgenerator.lib.core.reflect.GenerationVisitor;
+import fluentgenerator.lib.core.reflect.GenerationVisitorRegistry;
+import fluentgenerator.lib.core.reflect.GeneratorConfiguration;
+import fluentgenerator.lib.core.reflect.JsonNodeObjectGenerationVisitor;
+import fluentgenerator.lib.core.reflect.PrimitiveSupplierAdapter;
+import fluentgenerator.lib.core.reflect.Property;
+import fluentgenerator.lib.core.reflect.PropertySlots;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.scaffold.MethodGraph;
+import net.bytebuddy.dynamic.loading.ClassInjector;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+
+/**
+ * Creates generator interface implementations by generating concrete class for every generator interface.
+ * <p>
+ * It is drop-in replacement for {@link ReflectGeneratorProxyFactory}. Generated classes extend {@link
+ * GeneratedGenerator} and follow the same rules as {@link fluentgenerator.lib.core.reflect.ReflectGeneratorProxy}:
+ * methods with single parameter are setters, {@code build} and {@code get} create objects and {@code constructor}
+ * provides instances of generated objects. Unlike proxies, every setter is compiled into direct call storing value of
+ * property with precomputed ordinal and default methods are executed as regular methods.
+ * <p>
+ * Only dispatch of method calls is proxy-free. Generated classes keep properties in {@link GeneratorConfiguration}
+ * and build objects out of the same build plans, visitors and setters as proxies do, so both kinds of generators
+ * behave the same way.
+ * <p>
+ * Classes are generated with Byte Buddy, which has to be present on the classpath. Every generator interface is
+ * processed only once.
+ *
+ * @see Generator
+ * @see GeneratedGenerator
+ */
+public class BytecodeGeneratorFactory implements GeneratorFactory {
+
+	private static final AtomicInteger GENERATED_COUNTER = new AtomicInteger();
+
+	private static final ClassValue<GeneratedType> GENERATED_TYPES = new ClassValue<GeneratedType>() {
+		@Override
+		protected GeneratedType computeValue(Class<?> generatorClass) {
+			return generate(generatorClass);
+		}
+	};
+
+	private GenerationVisitorRegistry visitors = GenerationVisitorRegistry.defaults();
+	private GenerationListener listener = GenerationListener.NOOP;
+
+	/**
+	 * Registers visitor used to build objects of given type, and its subtypes, by generators created afterwards.
+	 * For instance it may be used to plug in shared, preconfigured {@code ObjectMapper} with {@link
+	 * JsonNodeObjectGenerationVisitor#factory}.
+	 *
+	 * @param targetType     type of built objects
+	 * @param visitorFactory creates visitor for every built object
+	 * @return this factory
+	 */
+	public BytecodeGeneratorFactory visitor(Class<?> targetType, Supplier<GenerationVisitor> visitorFactory) {
+		visitors = visitors.with(targetType, visitorFactory);
+		return this;
+	}
+
+	/**
+	 * Registers listener receiving duration of building steps of generators created afterwards.
+	 *
+	 * @param listener listener, {@link GenerationListener#NOOP} turns instrumentation off
+	 * @return this factory
+	 */
+	public BytecodeGeneratorFactory listener(GenerationListener listener) {
+		this.listener = listener;
+		return this;
+	}
+
+	/**
+	 * Creates generator implementation for a given generator interface
+	 *
+	 * @param generatorClass generator interface class
+	 * @param <T>            generator interface
+	 * @return new instance of given class
+	 */
+	@Override
+	public <T> T generatorInstance(Class<T> generatorClass) {
+		GeneratedType generatedType = GENERATED_TYPES.get(generatorClass);
+
+		try {
+			return generatorClass.cast(generatedType.constructor.newInstance(
+				generatorClass, generatedType.properties, visitors, listener));
+		} catch (ReflectiveOperationException ex) {
+			throw new GeneratorException(generatorClass, "Can't instantiate generated generator class", ex);
+		}
+	}
+
+	private static GeneratedType generate(Class<?> generatorClass) {
+		if (!generatorClass.isInterface()) {
+			throw new GeneratorException(generatorClass, "Generator class should be an interface");
+		}
+
+		List<Property> properties = new ArrayList<>();
+
+		// only methods defined below are implemented, so methods overridden with covariant return type get their own
+		// implementations instead of bridges casting result of the most specific one
+		Set<String> signatures = new HashSet<>();
+		DynamicType.Builder<?> builder = new ByteBuddy()
+			.with(MethodGraph.Compiler.ForDeclaredMethods.INSTANCE)
+			.subclass(GeneratedGenerator.class,
+				net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy.Default.IMITATE_SUPER_CLASS)
+			.implement(generatorClass)
+			// ClassValue may compute value more than once in case of race, so generated class names have to be unique
+			.name(generatorClass.getName() + "$$FluentGenerator$" + GENERATED_COUNTER.incrementAndGet());
+
+		for (Method method : generatorClass.getMethods()) {
+			if (Modifier.isStatic(method.getModifiers())) continue;
+			if (!signatures.add(method.getName() + MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+				.toMethodDescriptorString())) continue;
+
+			Implementation implementation = implementationOf(generatorClass, method, properties);
+			if (implementation == null) continue;
+
+			builder = builder
+				.defineMethod(method.getName(), method.getReturnType(), Visibility.PUBLIC)
+				.withParameters(method.getParameterTypes())
+				.intercept(implementation);
+		}
+
+		try {
+			Class<?> type = builder.make()
+				.load(generatorClass.getClassLoader(), loadingStrategy(generatorClass))
+				.getLoaded();
+
+			Constructor<?> constructor = type.getConstructor(Class.class, Property[].class,
+				GenerationVisitorRegistry.class, GenerationListener.class);
+			return new GeneratedType(constructor, properties.toArray(new Property[properties.size()]));
+		} catch (NoSuchMethodException | RuntimeException ex) {
+			throw new GeneratorException(generatorClass, "Can't generate implementation of generator interface", ex);
+		}
+	}
+
+	private static Implementation implementationOf(Class<?> generatorClass, Method method, List<Property> properties) {
+		String methodName = method.getName();
+		Class<?>[] parameterTypes = method.getParameterTypes();
+
+		try {
+			if (methodName.equals("build") || methodName.equals("get")) {
+				if (parameterTypes.length == 0) {
+					// bridge methods added by compiler to covariant build() would cast result, so they are replaced too
+					return method.isDefault() && !method.isBridge() ? null : call("doBuild")
+						.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+				}
+				if (parameterTypes.length == 1 && parameterTypes[0] == Class.class) {
+					return call("doBuildAs", Class.class).withArgument(0)
+						.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+				}
+				return method.isDefault() ? null : call("doUnsupported", String.class).with(methodName)
+					.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+			}
+
+			if (methodName.equals("freeze") && parameterTypes.length == 0) {
+				return call("doFreeze").withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+			}
+
+			if (method.isDefault()) {
+				return null;
+			}
+
+			MethodCall setter;
+			if (methodName.equals("constructor") && parameterTypes.length == 1) {
+				setter = call("doStoreConstructor", Object.class).withArgument(0);
+			} else if (parameterTypes.length == 1) {
+				int ordinal = properties.size();
+				String storeMethod;
+				if (PrimitiveSupplierAdapter.isPrimitiveSupplier(parameterTypes[0])) {
+					properties.add(Property.build(methodName, PrimitiveSupplierAdapter.valueType(parameterTypes[0])));
+					storeMethod = "doStorePrimitiveSupplier";
+				} else {
+					properties.add(Property.build(methodName, parameterTypes[0]));
+					storeMethod = Supplier.class.isAssignableFrom(parameterTypes[0]) ? "doStoreSupplier" : "doStoreValue";
+				}
+
+				int slot = PropertySlots.of(generatorClass).ordinalOf(methodName);
+				setter = call(storeMethod, int.class, int.class, Object.class).with(slot, ordinal).withArgument(0);
+			} else {
+				return call("doUnsupported", String.class).with(methodName)
+					.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+			}
+
+			// store methods return generator which was modified, copy of frozen generator or generator itself
+			Class<?> returnType = method.getReturnType();
+			if (returnType == generatorClass || returnType == Object.class) {
+				return setter.withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC);
+			}
+
+			Implementation.Composable checkedSetter = call("doCheckNotFrozen").andThen(setter);
+			if (returnType == void.class) {
+				return checkedSetter;
+			} else {
+				return checkedSetter.andThen(call("doNullResult").withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+			}
+		} catch (NoSuchMethodException ex) {
+			throw new GeneratorException(generatorClass, "Can't find method of generated generator base class", ex);
+		}
+	}
+
+	private static MethodCall call(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+		return MethodCall.invoke(GeneratedGenerator.class.getDeclaredMethod(name, parameterTypes));
+	}
+
+	private static ClassLoadingStrategy<ClassLoader> loadingStrategy(Class<?> generatorClass) {
+		if (ClassInjector.UsingLookup.isAvailable()) {
+			try {
+				// Java 9+ way of defining class in the package of generator interface
+				Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn",
+					Class.class, MethodHandles.Lookup.class);
+				Object lookup = privateLookupIn.invoke(null, generatorClass, MethodHandles.lookup());
+				return ClassLoadingStrategy.UsingLookup.of(lookup);
+			} catch (ReflectiveOperationException ex) {
+				throw new GeneratorException(generatorClass, "Can't access package of generator interface", ex);
+			}
+		}
+		return ClassLoadingStrategy.Default.INJECTION;
+	}
+
+	private static class GeneratedType {
+		final Constructor<?> constructor;
+		final Property[] properties;
+
+		GeneratedType(Constructor<?> constructor, Property[] properties) {
+			this.constructor = constructor;
+			this.properties = properties;
+		}
+	}
+}
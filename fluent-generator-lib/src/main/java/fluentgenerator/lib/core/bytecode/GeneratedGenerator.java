@@ -0,0 +1,198 @@
+package fluentgenerator.lib.core.bytecode;
+
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.core.reflect.BuildPlan;
+import fluentgenerator.lib.core.reflect.BuildPlanSource;
+import fluentgenerator.lib.core.reflect.GenerationListener;
+import fluentgenerator.lib.core.reflect.GenerationVisitor;
+import fluentgenerator.lib.core.reflect.GenerationVisitorRegistry;
+import fluentgenerator.lib.core.reflect.GeneratorConfiguration;
+import fluentgenerator.lib.core.reflect.PrimitiveSupplierAdapter;
+import fluentgenerator.lib.core.reflect.Property;
+import fluentgenerator.supplier.StaticValueSupplier;
+
+import java.lang.reflect.Constructor;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Base class for generator implementations created by {@link BytecodeGeneratorFactory}.
+ * <p>
+ * Generated subclasses implement every method of generator interface as a direct call to one of methods declared
+ * here. Setter methods pass slot of property in configuration, see {@link
+ * fluentgenerator.lib.core.reflect.PropertySlots}, and ordinal of property they configure, so no method name dispatch
+ * is needed at runtime. Objects are built by {@link GeneratorConfiguration}, the same way proxies build them.
+ * <p>
+ * Public methods declared here take precedence over bulk default methods of {@link fluentgenerator.core.Generator},
+ * so that whole batch of objects is created out of single build plan.
+ *
+ * @see BytecodeGeneratorFactory
+ */
+public abstract class GeneratedGenerator implements BuildPlanSource {
+
+	private static final ClassValue<Constructor<? extends GeneratedGenerator>> COPY_CONSTRUCTORS =
+		new ClassValue<Constructor<? extends GeneratedGenerator>>() {
+			@Override
+			@SuppressWarnings("unchecked")
+			protected Constructor<? extends GeneratedGenerator> computeValue(Class<?> type) {
+				try {
+					return (Constructor<? extends GeneratedGenerator>) type.getConstructor(
+						Property[].class, GeneratorConfiguration.class);
+				} catch (NoSuchMethodException ex) {
+					throw new IllegalStateException(ex);
+				}
+			}
+		};
+
+	private final GeneratorConfiguration configuration;
+	private final Property[] properties;
+	private Class<?> targetType;
+
+	public GeneratedGenerator(Class<?> generatorInterface, Property[] properties,
+							  Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor) {
+		this(generatorInterface, properties, targetTypeToVisitor, GenerationListener.NOOP);
+	}
+
+	public GeneratedGenerator(Class<?> generatorInterface, Property[] properties,
+							  Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor,
+							  GenerationListener listener) {
+		this(properties, new GeneratorConfiguration(generatorInterface, targetTypeToVisitor, listener));
+	}
+
+	public GeneratedGenerator(Class<?> generatorInterface, Property[] properties, GenerationVisitorRegistry visitors,
+							  GenerationListener listener) {
+		this(properties, new GeneratorConfiguration(generatorInterface, visitors, listener));
+	}
+
+	/**
+	 * Creates generator with given configuration, used for frozen generators and their modified copies.
+	 */
+	public GeneratedGenerator(Property[] properties, GeneratorConfiguration configuration) {
+		this.configuration = configuration;
+		this.properties = properties;
+	}
+
+	public List<Object> buildMany(int n) {
+		return buildPlan().buildMany(n);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void fill(Collection<?> collection, int n) {
+		buildPlan().fill((Collection<Object>) collection, n);
+	}
+
+	public Object buildInto(Object target) {
+		return buildPlan().buildInto(target);
+	}
+
+	public Stream<Object> stream() {
+		return buildPlan().stream();
+	}
+
+	public Stream<Object> stream(long n) {
+		return buildPlan().stream(n);
+	}
+
+	protected final Object doBuild() {
+		return configuration.build(targetType());
+	}
+
+	protected final Object doBuildAs(Class<?> type) {
+		return configuration.build(type);
+	}
+
+	@SuppressWarnings("unchecked")
+	protected final Object doStoreSupplier(int slot, int ordinal, Object supplier) {
+		GeneratedGenerator target = writable();
+		target.configuration.storePropertyValueSupplier(slot, properties[ordinal], (Supplier<Object>) supplier);
+		return target;
+	}
+
+	protected final Object doStorePrimitiveSupplier(int slot, int ordinal, Object supplier) {
+		GeneratedGenerator target = writable();
+		target.configuration.storePropertyValueSupplier(slot, properties[ordinal], PrimitiveSupplierAdapter.adapt(supplier));
+		return target;
+	}
+
+	protected final Object doStoreValue(int slot, int ordinal, Object value) {
+		GeneratedGenerator target = writable();
+		target.configuration.storePropertyValueSupplier(slot, properties[ordinal], StaticValueSupplier.build(value));
+		return target;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected final Object doStoreConstructor(Object supplier) {
+		if (!(supplier instanceof Supplier)) {
+			throw new GeneratorException(configuration.getGeneratorInterface(),
+				"Constructor method should be called with exactly one parameter of type Supplier<Object>");
+		}
+		GeneratedGenerator target = writable();
+		target.configuration.storeConstructorSupplier((Supplier<Object>) supplier);
+		return target;
+	}
+
+	/**
+	 * Called before setters which don't return generator, so that they fail instead of modifying copy.
+	 */
+	protected final void doCheckNotFrozen() {
+		configuration.checkNotFrozen();
+	}
+
+	protected final Object doFreeze() {
+		if (configuration.isFrozen()) {
+			return this;
+		}
+
+		GeneratedGenerator frozen = copy(configuration.freeze());
+		try {
+			// compiled up front, so that threads sharing frozen generator don't have to
+			frozen.buildPlan();
+		} catch (GeneratorException ex) {
+			// target type can't be inferred or built, error is reported when object is built
+		}
+		return frozen;
+	}
+
+	/**
+	 * @return this generator or, if it is frozen, its copy which can be modified
+	 */
+	private GeneratedGenerator writable() {
+		return configuration.isFrozen() ? copy(configuration.copy()) : this;
+	}
+
+	private GeneratedGenerator copy(GeneratorConfiguration configuration) {
+		try {
+			return COPY_CONSTRUCTORS.get(getClass()).newInstance(properties, configuration);
+		} catch (ReflectiveOperationException ex) {
+			throw new GeneratorException(configuration.getGeneratorInterface(), "Can't copy generator", ex);
+		}
+	}
+
+	@Override
+	public BuildPlan buildPlan() {
+		return configuration.buildPlan(targetType());
+	}
+
+	private Class<?> targetType() {
+		Class<?> type = targetType;
+		if (type == null) {
+			type = GeneratorConfiguration.inferTargetClass(configuration.getGeneratorInterface());
+			targetType = type;
+		}
+		return type;
+	}
+
+	protected final Object doNullResult() {
+		return null;
+	}
+
+	protected final Object doUnsupported(String methodName) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't handle call to ").append(methodName)
+			.append(". Setter method should have exactly one parameter");
+		throw new GeneratorException(configuration.getGeneratorInterface(), b.toString());
+	}
+}
@@ -0,0 +1,134 @@
+package fluentgenerator.lib.core.reflect;
+
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.generator.GeneratorSpliterator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Compiled recipe for creating objects of single target type.
+ * <p>
+ * Build plan captures visitor factory, constructor strategy and configured property suppliers so that every call to
+ * {@link #build()} simply replays them. Plans are compiled by {@link GeneratorConfiguration} once per target type and
+ * are dropped whenever generator configuration changes.
+ */
+public class BuildPlan {
+
+	private final Supplier<GenerationVisitor> visitorFactory;
+	private final ConstructorStrategy constructorStrategy;
+	private final Property[] properties;
+	private final Supplier<Object>[] suppliers;
+	private final Class<?> generatorInterface;
+	// plan passing properties to constructor can't fill in existing instances
+	private final boolean constructorBound;
+
+	/**
+	 * @param properties         properties in order they are passed to visitor
+	 * @param suppliers          suppliers of properties with the same index
+	 * @param generatorInterface generator interface the plan is compiled for
+	 * @param constructorBound   true if properties are passed to constructor, {@link #buildInto(Object)} fails for
+	 *                           such plans
+	 */
+	public BuildPlan(Supplier<GenerationVisitor> visitorFactory, ConstructorStrategy constructorStrategy,
+					 Property[] properties, Supplier<Object>[] suppliers, Class<?> generatorInterface,
+					 boolean constructorBound) {
+		this.visitorFactory = visitorFactory;
+		this.constructorStrategy = constructorStrategy;
+		this.properties = properties;
+		this.suppliers = suppliers;
+		this.generatorInterface = generatorInterface;
+		this.constructorBound = constructorBound;
+	}
+
+	public Object build() {
+		return build(visitorFactory.get());
+	}
+
+	/**
+	 * Replays plan with given visitor instead of one selected for target type.
+	 *
+	 * @param visitor visitor receiving constructor strategy and property suppliers
+	 * @return result of {@link GenerationVisitor#finishObject()}
+	 */
+	public Object build(GenerationVisitor visitor) {
+		return build(visitor, constructorStrategy);
+	}
+
+	/**
+	 * Sets configured properties on given instance.
+	 *
+	 * @param target instance to fill in
+	 * @return given instance
+	 * @throws GeneratorException if properties are passed to constructor of built type, or visitor ignores given
+	 *                            instance and creates new object, like ones creating {@code JsonNode} do
+	 */
+	public Object buildInto(Object target) {
+		if (constructorBound) {
+			throw buildCantFillConstructorBoundException(generatorInterface);
+		}
+		Object result = build(visitorFactory.get(), () -> target);
+		if (result != target) {
+			throw buildInstanceIgnoredException(generatorInterface);
+		}
+		return result;
+	}
+
+	private Object build(GenerationVisitor visitor, ConstructorStrategy constructorStrategy) {
+		visitor.acceptConstructorStrategy(constructorStrategy);
+
+		for (int i = 0; i < properties.length; i++) {
+			visitor.acceptPropertySupplier(properties[i], suppliers[i]);
+		}
+
+		return visitor.finishObject();
+	}
+
+	public List<Object> buildMany(int n) {
+		List<Object> items = new ArrayList<>(n);
+		fill(items, n);
+		return items;
+	}
+
+	public void fill(Collection<Object> collection, int n) {
+		for (int i = n; i > 0; i--) {
+			collection.add(build());
+		}
+	}
+
+	/**
+	 * @return infinite sequential stream of new objects
+	 */
+	public Stream<Object> stream() {
+		return Stream.generate(this::build);
+	}
+
+	/**
+	 * @param n number of objects in stream
+	 * @return sequential stream of new objects, it is sized and splits well when turned parallel
+	 * @throws IllegalArgumentException if n is negative, same as {@link Stream#limit(long)}
+	 */
+	public Stream<Object> stream(long n) {
+		if (n < 0) {
+			throw new IllegalArgumentException(Long.toString(n));
+		}
+		return GeneratorSpliterator.create(this::build, n).stream();
+	}
+
+	private static GeneratorException buildCantFillConstructorBoundException(Class<?> genIface) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't fill in existing instance, because properties are passed to constructor of built type. ")
+			.append("Configure constructor supplier or add no-arg constructor to built type.");
+		return new GeneratorException(genIface, b.toString());
+	}
+
+	private static GeneratorException buildInstanceIgnoredException(Class<?> genIface) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't fill in existing instance, because visitor of built type creates new objects. ")
+			.append("Use build() instead.");
+		return new GeneratorException(genIface, b.toString());
+	}
+}
@@ -0,0 +1,41 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+
+/**
+ * Implemented by generators, or their backends, which build objects out of {@link BuildPlan}.
+ * <p>
+ * It gives access to build plan of generator instance, so that its configuration can be replayed with other {@link
+ * GenerationVisitor}, for instance one writing generated properties directly to output.
+ */
+public interface BuildPlanSource {
+
+	/**
+	 * @return plan building objects of type inferred from generator interface out of current configuration
+	 */
+	BuildPlan buildPlan();
+
+	/**
+	 * Finds build plan source of given generator instance. Both generators created by this library, dynamic proxies
+	 * and generated classes, are recognized.
+	 *
+	 * @param generator generator instance
+	 * @return build plan source or empty if generator wasn't created by this library
+	 */
+	static Optional<BuildPlanSource> of(Object generator) {
+		if (generator instanceof BuildPlanSource) {
+			return Optional.of((BuildPlanSource) generator);
+		}
+
+		if (generator != null && Proxy.isProxyClass(generator.getClass())) {
+			InvocationHandler handler = Proxy.getInvocationHandler(generator);
+			if (handler instanceof BuildPlanSource) {
+				return Optional.of((BuildPlanSource) handler);
+			}
+		}
+
+		return Optional.empty();
+	}
+}
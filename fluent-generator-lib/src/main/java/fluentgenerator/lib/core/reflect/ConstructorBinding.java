@@ -0,0 +1,190 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maps properties to parameters of public constructor of immutable target class.
+ * <p>
+ * Parameter names are taken from, in order of preference, record components, {@link ConstructorProperties}
+ * annotation or class files compiled with {@code -parameters} option. If more than one constructor is eligible, the
+ * one with most parameters is used. If no constructor is eligible, public static factory methods of target class
+ * returning target class, like {@code of(...)}, are considered the same way, though their parameter names are only
+ * available with {@code -parameters}. Binding is resolved once per target class and invokes constructor through
+ * {@link MethodHandle}, so no reflection is used when objects are created.
+ */
+public class ConstructorBinding {
+
+	private static final ClassValue<Optional<ConstructorBinding>> BINDINGS =
+		new ClassValue<Optional<ConstructorBinding>>() {
+			@Override
+			protected Optional<ConstructorBinding> computeValue(Class<?> type) {
+				return Optional.ofNullable(resolve(type));
+			}
+		};
+
+	private final Class<?> targetClass;
+	private final Map<String, Integer> parameterIndexes;
+	private final Object[] defaultArguments;
+	private final MethodHandle constructor;
+
+	private ConstructorBinding(Class<?> targetClass, String[] names, Class<?>[] types, MethodHandle constructor) {
+		this.targetClass = targetClass;
+		this.parameterIndexes = new HashMap<>();
+		this.defaultArguments = new Object[names.length];
+		for (int i = 0; i < names.length; i++) {
+			parameterIndexes.put(names[i], i);
+			if (types[i].isPrimitive()) {
+				defaultArguments[i] = Array.get(Array.newInstance(types[i], 1), 0);
+			}
+		}
+		this.constructor = constructor
+			.asType(constructor.type().generic())
+			.asSpreader(Object[].class, names.length);
+	}
+
+	/**
+	 * @param targetClass class of created instances
+	 * @return binding of constructor with named parameters or empty if there is no such constructor
+	 */
+	public static Optional<ConstructorBinding> of(Class<?> targetClass) {
+		return BINDINGS.get(targetClass);
+	}
+
+	public Class<?> getTargetClass() {
+		return targetClass;
+	}
+
+	/**
+	 * @param property property of generated object
+	 * @return index of constructor parameter with the same name as property or -1 if there is no such parameter
+	 */
+	public int indexOf(Property property) {
+		Integer index = parameterIndexes.get(property.getName());
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return new array of constructor arguments set to default values, {@code null} or zero for primitives
+	 */
+	public Object[] newArguments() {
+		return defaultArguments.clone();
+	}
+
+	public Object newInstance(Object[] arguments) throws InstantiationException, InvocationTargetException {
+		try {
+			return (Object) constructor.invokeExact(arguments);
+		} catch (InstantiationException | RuntimeException | Error ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	private static ConstructorBinding resolve(Class<?> targetClass) {
+		ConstructorBinding binding = bind(targetClass, targetClass.getConstructors(), recordComponentNames(targetClass));
+		// classes hiding their constructors are created by static factory methods, like of(...) or create(...)
+		return binding != null ? binding : bind(targetClass, factoryMethods(targetClass), Optional.empty());
+	}
+
+	private static ConstructorBinding bind(Class<?> targetClass, Executable[] candidates,
+										   Optional<String[]> recordComponents) {
+		Executable best = null;
+		String[] bestNames = null;
+
+		for (Executable c : candidates) {
+			String[] names = recordComponents.isPresent()
+				? recordComponentsFor(c, recordComponents.get())
+				: parameterNames(c);
+			if (names != null && (best == null || names.length > bestNames.length)) {
+				best = c;
+				bestNames = names;
+			}
+		}
+
+		if (best == null || bestNames.length == 0) {
+			return null;
+		}
+
+		try {
+			MethodHandle handle = best instanceof Constructor
+				? MethodHandles.publicLookup().unreflectConstructor((Constructor<?>) best)
+				: MethodHandles.publicLookup().unreflect((Method) best);
+			return new ConstructorBinding(targetClass, bestNames, best.getParameterTypes(), handle);
+		} catch (IllegalAccessException ex) {
+			return null;
+		}
+	}
+
+	private static Executable[] factoryMethods(Class<?> targetClass) {
+		List<Method> factories = new ArrayList<>();
+		for (Method m : targetClass.getMethods()) {
+			if (Modifier.isStatic(m.getModifiers()) && m.getDeclaringClass() == targetClass
+				&& m.getReturnType() == targetClass) {
+				factories.add(m);
+			}
+		}
+		return factories.toArray(new Executable[0]);
+	}
+
+	private static String[] parameterNames(Executable executable) {
+		ConstructorProperties annotation = executable.getAnnotation(ConstructorProperties.class);
+		if (annotation != null && annotation.value().length == executable.getParameterCount()) {
+			return annotation.value();
+		}
+
+		Parameter[] parameters = executable.getParameters();
+		String[] names = new String[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			if (!parameters[i].isNamePresent()) {
+				return null;
+			}
+			names[i] = parameters[i].getName();
+		}
+		return names;
+	}
+
+	private static String[] recordComponentsFor(Executable constructor, String[] componentNames) {
+		// canonical constructor of record takes all components in declaration order
+		return constructor.getParameterCount() == componentNames.length ? componentNames : null;
+	}
+
+	/**
+	 * Records are available since Java 16, so they are inspected reflectively.
+	 */
+	private static Optional<String[]> recordComponentNames(Class<?> targetClass) {
+		try {
+			Method isRecord = Class.class.getMethod("isRecord");
+			if (!(Boolean) isRecord.invoke(targetClass)) {
+				return Optional.empty();
+			}
+
+			Object[] components = (Object[]) Class.class.getMethod("getRecordComponents").invoke(targetClass);
+			String[] names = new String[components.length];
+			for (int i = 0; i < components.length; i++) {
+				names[i] = (String) components[i].getClass().getMethod("getName").invoke(components[i]);
+			}
+			return Optional.of(names);
+		} catch (ReflectiveOperationException ex) {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ConstructorBinding{" + targetClass.getName() + ", parameters=" + parameterIndexes.keySet() + '}';
+	}
+}
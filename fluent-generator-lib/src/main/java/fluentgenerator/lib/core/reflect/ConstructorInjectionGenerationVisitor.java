@@ -0,0 +1,76 @@
+package fluentgenerator.lib.core.reflect;
+
+import fluentgenerator.lib.core.GeneratorException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Creates immutable objects by passing property values to constructor described by {@link ConstructorBinding}.
+ * <p>
+ * Values of properties matching constructor parameters are collected first and object is created when it is
+ * finished. Remaining properties are set afterwards with setters, the same way as {@link ObjectGenerationVisitor}
+ * does. Constructor parameters without configured property get {@code null} or zero.
+ */
+public class ConstructorInjectionGenerationVisitor implements GenerationVisitor {
+
+	private final ConstructorBinding binding;
+	private final Class<?> generatorClass;
+	private final Map<Property, PropertySetter> setters;
+	private Object[] arguments;
+	private final List<Property> remainingProperties = new ArrayList<>();
+	private final List<Object> remainingValues = new ArrayList<>();
+
+	public ConstructorInjectionGenerationVisitor(ConstructorBinding binding, Class<?> generatorClass,
+												 Map<Property, PropertySetter> setters) {
+		this.binding = binding;
+		this.generatorClass = generatorClass;
+		this.setters = setters;
+	}
+
+	@Override
+	public void acceptConstructorStrategy(ConstructorStrategy constructorStrategy) {
+		arguments = binding.newArguments();
+		remainingProperties.clear();
+		remainingValues.clear();
+	}
+
+	@Override
+	public void acceptPropertySupplier(Property property, Supplier<Object> supplier) {
+		int index = binding.indexOf(property);
+		if (index >= 0) {
+			arguments[index] = supplier.get();
+		} else {
+			remainingProperties.add(property);
+			remainingValues.add(supplier.get());
+		}
+	}
+
+	@Override
+	public Object finishObject() {
+		Object result;
+		try {
+			result = binding.newInstance(arguments);
+		} catch (InstantiationException | InvocationTargetException | ClassCastException | NullPointerException ex) {
+			StringBuilder b = new StringBuilder();
+			b.append("Can't instantiate object of type ")
+				.append(binding.getTargetClass().toString())
+				.append(" with constructor arguments.");
+			throw new GeneratorException(generatorClass, b.toString(), ex);
+		}
+
+		for (int i = 0; i < remainingProperties.size(); i++) {
+			Property property = remainingProperties.get(i);
+			PropertySetter setter = setters.get(property);
+			if (setter == null) {
+				setter = PropertySetter.resolve(binding.getTargetClass(), generatorClass, property);
+			}
+			setter.set(result, remainingValues.get(i));
+		}
+		return result;
+	}
+
+}
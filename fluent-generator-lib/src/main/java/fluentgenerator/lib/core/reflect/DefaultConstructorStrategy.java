@@ -0,0 +1,112 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Creates instances of target class with its public no-arg constructor.
+ * <p>
+ * Constructor is resolved once per target class. If target class and constructor are public and visible from class
+ * loader of this library, constructor is turned into {@link Supplier} with {@link
+ * java.lang.invoke.LambdaMetafactory}, so creating an instance is a plain method call. Otherwise constructor is
+ * invoked through cached {@link MethodHandle}. Problems found during resolution are reported every time instance is
+ * requested, same as with {@link Class#newInstance()}.
+ */
+public class DefaultConstructorStrategy implements ConstructorStrategy {
+
+	private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+	private static final ClassValue<DefaultConstructorStrategy> STRATEGIES =
+		new ClassValue<DefaultConstructorStrategy>() {
+			@Override
+			protected DefaultConstructorStrategy computeValue(Class<?> type) {
+				return new DefaultConstructorStrategy(type);
+			}
+		};
+
+	private final Class<?> targetClass;
+	private final Supplier<Object> factory;
+	private final MethodHandle constructor;
+	private final ReflectiveOperationException failure;
+
+	private DefaultConstructorStrategy(Class<?> targetClass) {
+		this.targetClass = targetClass;
+
+		Supplier<Object> factory = null;
+		MethodHandle constructor = null;
+		ReflectiveOperationException failure = null;
+		try {
+			constructor = MethodHandles.publicLookup().findConstructor(targetClass, CONSTRUCTOR_TYPE);
+			factory = lambdaFactory(targetClass, constructor);
+			constructor = constructor.asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException ex) {
+			failure = new InstantiationException(targetClass.getName() + " has no public no-arg constructor");
+		} catch (IllegalAccessException ex) {
+			failure = ex;
+		}
+
+		this.factory = factory;
+		this.constructor = constructor;
+		this.failure = failure;
+	}
+
+	/**
+	 * @param targetClass class of created instances
+	 * @return strategy shared by all generators creating instances of given class
+	 */
+	public static ConstructorStrategy of(Class<?> targetClass) {
+		return STRATEGIES.get(targetClass);
+	}
+
+	/**
+	 * @param targetClass class of created instances
+	 * @return true if given class has public no-arg constructor
+	 */
+	public static boolean isAvailable(Class<?> targetClass) {
+		return STRATEGIES.get(targetClass).failure == null;
+	}
+
+	@Override
+	public Object get() throws InstantiationException, InvocationTargetException, IllegalAccessException {
+		if (factory != null) {
+			return factory.get();
+		}
+
+		if (failure instanceof InstantiationException) {
+			InstantiationException ex = new InstantiationException(failure.getMessage());
+			ex.initCause(failure);
+			throw ex;
+		} else if (failure != null) {
+			IllegalAccessException ex = new IllegalAccessException(failure.getMessage());
+			ex.initCause(failure);
+			throw ex;
+		}
+
+		try {
+			return (Object) constructor.invokeExact();
+		} catch (InstantiationException | RuntimeException | Error ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Supplier<Object> lambdaFactory(Class<?> targetClass, MethodHandle constructor) {
+		if (Modifier.isAbstract(targetClass.getModifiers()) || !LambdaFactory.supports(targetClass)) {
+			return null;
+		}
+
+		return LambdaFactory.create(Supplier.class, "get", MethodType.methodType(Object.class),
+			constructor, MethodType.methodType(targetClass));
+	}
+
+	@Override
+	public String toString() {
+		return "DefaultConstructorStrategy{" + targetClass.getName() + '}';
+	}
+}
@@ -0,0 +1,79 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves method handles calling default methods of generator interfaces on proxy instances.
+ * <p>
+ * Handles are resolved once per method and cached per declaring interface. Every handle takes proxy and array of
+ * arguments, so it can be invoked with {@link MethodHandle#invokeExact} whatever signature of default method is.
+ * Private lookup in interface is created with {@code MethodHandles.privateLookupIn} on Java 9 and newer, and with
+ * private constructor of {@link MethodHandles.Lookup} on Java 8.
+ */
+class DefaultMethodHandles {
+
+	static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	private static final ClassValue<ConcurrentMap<Method, MethodHandle>> HANDLES =
+		new ClassValue<ConcurrentMap<Method, MethodHandle>>() {
+			@Override
+			protected ConcurrentMap<Method, MethodHandle> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
+
+	private static final LookupFactory LOOKUP_FACTORY = lookupFactory();
+
+	private DefaultMethodHandles() {}
+
+	/**
+	 * @param method default method of interface
+	 * @return handle of type {@code (Object, Object[])Object}
+	 * @throws ReflectiveOperationException if method can't be accessed
+	 */
+	static MethodHandle of(Method method) throws ReflectiveOperationException {
+		ConcurrentMap<Method, MethodHandle> handles = HANDLES.get(method.getDeclaringClass());
+		MethodHandle handle = handles.get(method);
+		if (handle == null) {
+			handle = resolve(method);
+			handles.putIfAbsent(method, handle);
+		}
+		return handle;
+	}
+
+	private static MethodHandle resolve(Method method) throws ReflectiveOperationException {
+		Class<?> iface = method.getDeclaringClass();
+		MethodHandle handle = LOOKUP_FACTORY.privateLookupIn(iface).unreflectSpecial(method, iface);
+		return handle
+			.asType(handle.type().generic())
+			.asSpreader(Object[].class, method.getParameterCount())
+			.asType(INVOKER_TYPE);
+	}
+
+	private static LookupFactory lookupFactory() {
+		try {
+			Method privateLookupIn = MethodHandles.class.getMethod("privateLookupIn", Class.class,
+				MethodHandles.Lookup.class);
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			return iface -> (MethodHandles.Lookup) privateLookupIn.invoke(null, iface, lookup);
+		} catch (NoSuchMethodException ex) {
+			// Java 8
+			return iface -> {
+				Constructor<MethodHandles.Lookup> constructor =
+					MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
+				constructor.setAccessible(true);
+				return constructor.newInstance(iface, MethodHandles.Lookup.PRIVATE);
+			};
+		}
+	}
+
+	private interface LookupFactory {
+		MethodHandles.Lookup privateLookupIn(Class<?> iface) throws ReflectiveOperationException;
+	}
+}
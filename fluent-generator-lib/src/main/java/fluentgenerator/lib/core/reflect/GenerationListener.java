@@ -0,0 +1,43 @@
+package fluentgenerator.lib.core.reflect;
+
+/**
+ * Receives time spent on every step of building objects.
+ * <p>
+ * Listener is registered on generator factory and applies to generators created afterwards. Build plans of those
+ * generators then time constructor strategy, every property supplier together with its setter and {@link
+ * GenerationVisitor#finishObject()}. Plans of generators using {@link #NOOP} listener, which is default, are not
+ * instrumented at all.
+ * <p>
+ * Types without no-arg constructor get properties passed to constructor, see {@link ConstructorBinding}. Their
+ * instances are created once all properties are supplied, so constructor time is reported by {@link #finished} and
+ * {@link #constructed} only covers preparing constructor arguments.
+ * <p>
+ * Methods are called by threads building objects, so implementations have to be thread-safe and fast.
+ *
+ * @see fluentgenerator.lib.generator.GenerationStatistics
+ */
+public interface GenerationListener {
+
+	GenerationListener NOOP = new GenerationListener() {};
+
+	/**
+	 * @param targetType type of built object
+	 * @param nanos      time spent creating instance, or preparing constructor arguments of types with properties
+	 *                   passed to constructor
+	 */
+	default void constructed(Class<?> targetType, long nanos) {}
+
+	/**
+	 * @param targetType type of built object
+	 * @param property   configured property
+	 * @param nanos      time spent getting value from supplier and setting it
+	 */
+	default void propertySupplied(Class<?> targetType, Property property, long nanos) {}
+
+	/**
+	 * @param targetType type of built object
+	 * @param nanos      time spent in {@link GenerationVisitor#finishObject()}
+	 */
+	default void finished(Class<?> targetType, long nanos) {}
+
+}
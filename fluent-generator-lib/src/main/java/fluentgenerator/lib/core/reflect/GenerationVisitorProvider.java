@@ -0,0 +1,26 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.util.function.Supplier;
+
+/**
+ * Contributes visitor used by default to build objects of given type.
+ * <p>
+ * Providers are discovered once with {@link java.util.ServiceLoader}, so implementation has to be listed in {@code
+ * META-INF/services/fluentgenerator.lib.core.reflect.GenerationVisitorProvider} and have public no-arg constructor.
+ * Provider which can't be loaded, for instance because optional dependency is missing, is skipped.
+ *
+ * @see GenerationVisitorRegistry#defaults()
+ */
+public interface GenerationVisitorProvider {
+
+	/**
+	 * @return type of built objects, visitor is used for its subtypes too
+	 */
+	Class<?> targetType();
+
+	/**
+	 * @return factory creating visitor for every built object
+	 */
+	Supplier<GenerationVisitor> visitorFactory();
+
+}
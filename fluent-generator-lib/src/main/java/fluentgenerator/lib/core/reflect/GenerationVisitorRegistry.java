@@ -0,0 +1,130 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Supplier;
+
+/**
+ * Immutable mapping of built types to factories of visitors building them.
+ * <p>
+ * Visitor of a type is resolved once per registry and memoized, so generators sharing registry don't search mapping
+ * again. If many registered types match, the most specific one wins. Among unrelated most specific types, the one
+ * registered last wins, so {@link #with(Class, Supplier)} may override visitor of a type's other supertype.
+ * Objects of types without visitor are built with {@link ObjectGenerationVisitor}.
+ * <p>
+ * Default registry holds visitors of {@link GenerationVisitorProvider}s discovered once with {@link ServiceLoader}.
+ */
+public final class GenerationVisitorRegistry {
+
+	private static final GenerationVisitorRegistry EMPTY = new GenerationVisitorRegistry(Collections.emptyMap());
+
+	private final Map<Class<?>, Supplier<GenerationVisitor>> visitors;
+	private final ClassValue<Optional<Supplier<GenerationVisitor>>> resolved =
+		new ClassValue<Optional<Supplier<GenerationVisitor>>>() {
+			@Override
+			protected Optional<Supplier<GenerationVisitor>> computeValue(Class<?> targetType) {
+				return Optional.ofNullable(find(targetType));
+			}
+		};
+
+	private GenerationVisitorRegistry(Map<Class<?>, Supplier<GenerationVisitor>> visitors) {
+		this.visitors = visitors;
+	}
+
+	/**
+	 * @return registry with visitors of discovered {@link GenerationVisitorProvider}s
+	 */
+	public static GenerationVisitorRegistry defaults() {
+		return Defaults.REGISTRY;
+	}
+
+	public static GenerationVisitorRegistry empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * @param visitors visitor factories of built types, in order of registration
+	 */
+	public static GenerationVisitorRegistry of(Map<Class<?>, Supplier<GenerationVisitor>> visitors) {
+		return new GenerationVisitorRegistry(Collections.unmodifiableMap(new LinkedHashMap<>(visitors)));
+	}
+
+	/**
+	 * @return new registry with given visitor added, or replaced if type was already registered
+	 */
+	public GenerationVisitorRegistry with(Class<?> targetType, Supplier<GenerationVisitor> visitorFactory) {
+		Map<Class<?>, Supplier<GenerationVisitor>> copy = new LinkedHashMap<>(visitors);
+		copy.remove(targetType);
+		copy.put(targetType, visitorFactory);
+		return new GenerationVisitorRegistry(Collections.unmodifiableMap(copy));
+	}
+
+	/**
+	 * @param targetType type of built objects
+	 * @return visitor factory registered for given type or its supertype, or null if there is none
+	 */
+	public Supplier<GenerationVisitor> resolve(Class<?> targetType) {
+		return visitors.isEmpty() ? null : resolved.get(targetType).orElse(null);
+	}
+
+	/**
+	 * @return unmodifiable map of registered visitors, in order of registration
+	 */
+	public Map<Class<?>, Supplier<GenerationVisitor>> asMap() {
+		return visitors;
+	}
+
+	private Supplier<GenerationVisitor> find(Class<?> targetType) {
+		Class<?> match = null;
+		for(Class<?> type : visitors.keySet()) {
+			if(type.isAssignableFrom(targetType) && !hasMoreSpecificMatch(type, targetType)) {
+				match = type;
+			}
+		}
+		return match == null ? null : visitors.get(match);
+	}
+
+	private boolean hasMoreSpecificMatch(Class<?> match, Class<?> targetType) {
+		for(Class<?> type : visitors.keySet()) {
+			if(type != match && match.isAssignableFrom(type) && type.isAssignableFrom(targetType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static GenerationVisitorRegistry discover() {
+		Map<Class<?>, Supplier<GenerationVisitor>> visitors = new LinkedHashMap<>();
+		ClassLoader classLoader = GenerationVisitorProvider.class.getClassLoader();
+		Iterator<GenerationVisitorProvider> providers =
+			ServiceLoader.load(GenerationVisitorProvider.class, classLoader).iterator();
+		while(hasNext(providers)) {
+			try {
+				GenerationVisitorProvider provider = providers.next();
+				visitors.put(provider.targetType(), provider.visitorFactory());
+			} catch (ServiceConfigurationError | LinkageError ex) {
+				// provider or one of its dependencies, like optional Jackson, is not present...
+			}
+		}
+		return of(visitors);
+	}
+
+	private static boolean hasNext(Iterator<GenerationVisitorProvider> providers) {
+		try {
+			return providers.hasNext();
+		} catch (ServiceConfigurationError ex) {
+			// provider configuration can't be read, retrying would fail the same way
+			return false;
+		}
+	}
+
+	private static class Defaults {
+		static final GenerationVisitorRegistry REGISTRY = discover();
+	}
+
+}
@@ -0,0 +1,340 @@
+package fluentgenerator.lib.core.reflect;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.lib.core.GeneratorException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holds configuration of single generator instance and builds objects out of it.
+ * <p>
+ * It is shared by all generator implementations provided by this library. Configuration is compiled into {@link
+ * BuildPlan} the first time object of given type is built. Plans keep setters resolved and are reused by subsequent
+ * builds until configuration changes.
+ * <p>
+ * Property suppliers are kept in slots indexed by property ordinals assigned by {@link PropertySlots}. Plans use
+ * suppliers in the order properties were configured for the first time, so suppliers are always called in the same
+ * order, which makes seeded generation reproducible.
+ * <p>
+ * Configuration may be frozen with {@link #freeze()}. Frozen configuration can't be changed, so many threads may build
+ * objects out of it at the same time without locking.
+ *
+ * @see ReflectGeneratorProxy
+ * @see fluentgenerator.lib.core.bytecode.BytecodeGeneratorFactory
+ */
+public class GeneratorConfiguration {
+
+	private final Class<?> generatorInterface;
+	private final PropertySlots slots;
+	// indexed by property ordinal
+	private Property[] properties;
+	private Supplier<Object>[] suppliers;
+	// ordinals of configured properties, in order they were configured
+	private int[] order;
+	private int configured;
+	// properties not declared by generator interface get ordinals above ones assigned by slots
+	private Map<String, Integer> extraOrdinals;
+	private Optional<ConstructorStrategy> constructorStrategy = Optional.empty();
+	private final GenerationVisitorRegistry visitors;
+	private final Map<Class<?>, BuildPlan> buildPlans = new ConcurrentHashMap<>();
+	private final GenerationListener listener;
+	private final boolean frozen;
+
+	public GeneratorConfiguration(Class<?> generatorInterface) {
+		this(generatorInterface, GenerationVisitorRegistry.defaults(), GenerationListener.NOOP);
+	}
+
+	/**
+	 * @param generatorInterface   generator interface
+	 * @param targetTypeToVisitor visitor factories used to build objects of given types and their subtypes, objects
+	 *                             of other types are built with {@link ObjectGenerationVisitor}
+	 */
+	public GeneratorConfiguration(Class<?> generatorInterface,
+								  Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor) {
+		this(generatorInterface, targetTypeToVisitor, GenerationListener.NOOP);
+	}
+
+	/**
+	 * @param listener receives duration of building steps, build plans are instrumented only if it is not {@link
+	 *                 GenerationListener#NOOP}
+	 */
+	public GeneratorConfiguration(Class<?> generatorInterface,
+								  Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor,
+								  GenerationListener listener) {
+		this(generatorInterface, GenerationVisitorRegistry.of(targetTypeToVisitor), listener);
+	}
+
+	/**
+	 * @param visitors visitors used to build objects of registered types, registry may be shared by many
+	 *                 configurations
+	 * @param listener receives duration of building steps, build plans are instrumented only if it is not {@link
+	 *                 GenerationListener#NOOP}
+	 */
+	public GeneratorConfiguration(Class<?> generatorInterface, GenerationVisitorRegistry visitors,
+								  GenerationListener listener) {
+		this.generatorInterface = generatorInterface;
+		this.visitors = visitors;
+		this.listener = listener;
+		this.frozen = false;
+		this.slots = PropertySlots.of(generatorInterface);
+		this.properties = new Property[slots.size()];
+		this.suppliers = newSuppliers(slots.size());
+		this.order = new int[slots.size()];
+	}
+
+	private GeneratorConfiguration(GeneratorConfiguration source, boolean frozen) {
+		this.generatorInterface = source.generatorInterface;
+		this.visitors = source.visitors;
+		this.listener = source.listener;
+		this.slots = source.slots;
+		this.properties = source.properties.clone();
+		this.suppliers = source.suppliers.clone();
+		this.order = source.order.clone();
+		this.configured = source.configured;
+		this.extraOrdinals = source.extraOrdinals == null ? null : new HashMap<>(source.extraOrdinals);
+		this.constructorStrategy = source.constructorStrategy;
+		this.frozen = frozen;
+		// plans are dropped whenever configuration changes, so the ones left match copied values
+		this.buildPlans.putAll(source.buildPlans);
+	}
+
+	/**
+	 * @return new map with visitor factories used by default, see {@link GenerationVisitorRegistry#defaults()}
+	 */
+	public static Map<Class<?>, Supplier<GenerationVisitor>> defaultVisitors() {
+		return new HashMap<>(GenerationVisitorRegistry.defaults().asMap());
+	}
+
+	public Class<?> getGeneratorInterface() {
+		return generatorInterface;
+	}
+
+	/**
+	 * @return frozen copy of this configuration, or this configuration if it is already frozen
+	 */
+	public GeneratorConfiguration freeze() {
+		return frozen ? this : new GeneratorConfiguration(this, true);
+	}
+
+	/**
+	 * @return new configuration which is not frozen and has the same values as this one
+	 */
+	public GeneratorConfiguration copy() {
+		return new GeneratorConfiguration(this, false);
+	}
+
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	public void storePropertyValueSupplier(Property property, Supplier<Object> valueProvider) {
+		storePropertyValueSupplier(ordinalOf(property), property, valueProvider);
+	}
+
+	/**
+	 * @param ordinal       ordinal of property assigned by {@link PropertySlots} for generator interface, or -1 if
+	 *                      it's not known
+	 * @param property      configured property, property of the same name and other type is replaced
+	 * @param valueProvider supplier of property values
+	 */
+	public void storePropertyValueSupplier(int ordinal, Property property, Supplier<Object> valueProvider) {
+		checkNotFrozen();
+		if(ordinal < 0) {
+			ordinal = ordinalOf(property);
+		}
+		if(properties[ordinal] == null) {
+			order[configured++] = ordinal;
+		}
+		properties[ordinal] = property;
+		suppliers[ordinal] = valueProvider;
+		buildPlans.clear();
+	}
+
+	private int ordinalOf(Property property) {
+		int ordinal = slots.ordinalOf(property.getName());
+		if(ordinal >= 0) {
+			return ordinal;
+		}
+
+		if(extraOrdinals == null) {
+			extraOrdinals = new HashMap<>();
+		}
+		Integer extra = extraOrdinals.get(property.getName());
+		if(extra == null) {
+			extra = properties.length;
+			extraOrdinals.put(property.getName(), extra);
+			properties = Arrays.copyOf(properties, extra + 1);
+			suppliers = Arrays.copyOf(suppliers, extra + 1);
+			order = Arrays.copyOf(order, extra + 1);
+		}
+		return extra;
+	}
+
+	public void storeConstructorSupplier(Supplier<Object> supplier) {
+		checkNotFrozen();
+		constructorStrategy = Optional.of(new SupplierConstructorStrategy(supplier));
+		buildPlans.clear();
+	}
+
+	public Object build(Class<?> targetType) {
+		return buildPlan(targetType).build();
+	}
+
+	/**
+	 * Returns plan building objects of given type out of current configuration. Returned plan is not affected by
+	 * further configuration changes.
+	 *
+	 * @param targetType type of objects to build
+	 * @return build plan
+	 */
+	public BuildPlan buildPlan(Class<?> targetType) {
+		BuildPlan plan = buildPlans.get(targetType);
+		if(plan == null) {
+			plan = compileBuildPlan(targetType);
+			buildPlans.put(targetType, plan);
+		}
+		return plan;
+	}
+
+	/**
+	 * @throws GeneratorException if configuration is frozen
+	 */
+	public void checkNotFrozen() {
+		if(frozen) {
+			throw buildFrozenException(generatorInterface);
+		}
+	}
+
+	private BuildPlan compileBuildPlan(Class<?> targetType) {
+		Supplier<GenerationVisitor> visitorFactory = visitors.resolve(targetType);
+		Optional<ConstructorBinding> binding = Optional.empty();
+		if(visitorFactory == null && !constructorStrategy.isPresent()
+			&& !DefaultConstructorStrategy.isAvailable(targetType)) {
+			binding = ConstructorBinding.of(targetType);
+		}
+
+		if(visitorFactory == null) {
+			Map<Property, PropertySetter> setters = new HashMap<>();
+			for(int i = 0; i < configured; i++) {
+				Property p = properties[order[i]];
+				if(!binding.isPresent() || binding.get().indexOf(p) < 0) {
+					setters.put(p, PropertySetter.resolve(targetType, generatorInterface, p));
+				}
+			}
+
+			if(binding.isPresent()) {
+				ConstructorBinding b = binding.get();
+				visitorFactory = () -> new ConstructorInjectionGenerationVisitor(b, generatorInterface, setters);
+			} else {
+				visitorFactory = () -> new ObjectGenerationVisitor(targetType, generatorInterface, setters);
+			}
+		}
+
+		if(listener != GenerationListener.NOOP) {
+			Supplier<GenerationVisitor> delegate = visitorFactory;
+			visitorFactory = () -> new InstrumentedGenerationVisitor(delegate.get(), listener, targetType);
+		}
+
+		Property[] planProperties = new Property[configured];
+		Supplier<Object>[] planSuppliers = newSuppliers(configured);
+		for(int i = 0; i < configured; i++) {
+			planProperties[i] = properties[order[i]];
+			planSuppliers[i] = suppliers[order[i]];
+		}
+
+		return new BuildPlan(
+			visitorFactory,
+			constructorStrategy.orElse(DefaultConstructorStrategy.of(targetType)),
+			planProperties,
+			planSuppliers,
+			generatorInterface,
+			binding.isPresent());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Supplier<Object>[] newSuppliers(int size) {
+		return new Supplier[size];
+	}
+
+	/**
+	 * Infers type of objects created by generator from return type of its no-arg {@code build} method.
+	 *
+	 * @param generatorInterface generator interface
+	 * @return inferred model type
+	 */
+	public static Class<?> inferTargetClass(Class<?> generatorInterface) {
+		Class<?> targetClass = Object.class;
+
+		try {
+			// Only build method defined in generator interface provides hints about
+			// target type.
+			Method buildMethod = generatorInterface.getMethod("build");
+			if (buildMethod.getReturnType() != Object.class) {
+				targetClass = buildMethod.getReturnType();
+			}
+		} catch (NoSuchMethodException | SecurityException ex) {
+			// there is no possibility to find build method and infer
+			// generated object type.
+			throw buildCantFindBuildMethodException(generatorInterface, ex);
+		}
+
+		// This checks if return type was inferred correctly from provided
+		// generator interface. If not then this will lead almost
+		// for sure to other problems later on, it is worth to report
+		// exception.
+		if(targetClass == Object.class) {
+			throw buildCantInferReturnTypeException(generatorInterface);
+		}
+
+		return targetClass;
+	}
+
+	private class SupplierConstructorStrategy implements ConstructorStrategy {
+		private final Supplier<Object> _supplier;
+
+		public SupplierConstructorStrategy(Supplier<Object> supplier) {
+			this._supplier = supplier;
+		}
+
+		@Override
+		public Object get() throws
+			InstantiationException, InvocationTargetException,
+			IllegalAccessException {
+			Object o = _supplier.get();
+			if (o == null) {
+				StringBuilder b = new StringBuilder();
+				b.append("Error when instantiating object instance.")
+					.append(" Provided supplier method returned null.");
+				throw new InstantiationException(b.toString());
+			}
+			return o;
+		}
+	}
+
+	private static GeneratorException buildFrozenException(Class<?> genIface) {
+		StringBuilder b = new StringBuilder();
+		b.append("Generator is frozen and can't be modified. Setter method should return generator, so that ")
+			.append("modified copy can be returned.");
+		return new GeneratorException(genIface, b.toString());
+	}
+
+	private static GeneratorException buildCantInferReturnTypeException(Class<?> genIface) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't infer model type created by this generator. Is build method for generator interface declared?");
+		return new GeneratorException(genIface, b.toString());
+	}
+
+	private static GeneratorException buildCantFindBuildMethodException(Class<?> genIface, Exception cause) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't find build method in provided generator interface. Does provided interface extends ")
+			.append(Generator.class.toString()).append(" interface");
+		return new GeneratorException(genIface, b.toString(), cause);
+	}
+}
@@ -0,0 +1,42 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.util.function.Supplier;
+
+/**
+ * Passes calls to other visitor and reports their duration to {@link GenerationListener}.
+ */
+class InstrumentedGenerationVisitor implements GenerationVisitor {
+
+	private final GenerationVisitor delegate;
+	private final GenerationListener listener;
+	private final Class<?> targetType;
+
+	InstrumentedGenerationVisitor(GenerationVisitor delegate, GenerationListener listener, Class<?> targetType) {
+		this.delegate = delegate;
+		this.listener = listener;
+		this.targetType = targetType;
+	}
+
+	@Override
+	public void acceptConstructorStrategy(ConstructorStrategy constructorStrategy) {
+		long start = System.nanoTime();
+		delegate.acceptConstructorStrategy(constructorStrategy);
+		listener.constructed(targetType, System.nanoTime() - start);
+	}
+
+	@Override
+	public void acceptPropertySupplier(Property property, Supplier<Object> supplier) {
+		long start = System.nanoTime();
+		delegate.acceptPropertySupplier(property, supplier);
+		listener.propertySupplied(targetType, property, System.nanoTime() - start);
+	}
+
+	@Override
+	public Object finishObject() {
+		long start = System.nanoTime();
+		Object result = delegate.finishObject();
+		listener.finished(targetType, System.nanoTime() - start);
+		return result;
+	}
+
+}
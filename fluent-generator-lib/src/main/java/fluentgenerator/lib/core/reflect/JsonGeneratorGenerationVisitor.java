@@ -0,0 +1,53 @@
+package fluentgenerator.lib.core.reflect;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Writes generated properties directly to Jackson {@link JsonGenerator} instead of creating objects.
+ * <p>
+ * Every built object is written as JSON object with a field per configured property. Values are serialized with codec
+ * of used {@link JsonGenerator}. Nothing is kept between objects, so single visitor may be reused to write any number
+ * of them. {@link #finishObject()} always returns {@code null}.
+ */
+public class JsonGeneratorGenerationVisitor implements GenerationVisitor {
+
+	private final JsonGenerator generator;
+
+	public JsonGeneratorGenerationVisitor(JsonGenerator generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public void acceptConstructorStrategy(ConstructorStrategy constructorStrategy) {
+		try {
+			generator.writeStartObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void acceptPropertySupplier(Property property, Supplier<Object> supplier) {
+		try {
+			generator.writeFieldName(property.getName());
+			generator.writeObject(supplier.get());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public Object finishObject() {
+		try {
+			generator.writeEndObject();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,23 @@
+package fluentgenerator.lib.core.reflect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.function.Supplier;
+
+/**
+ * Builds {@link JsonNode} objects with {@link JsonNodeObjectGenerationVisitor}, registered by default when Jackson is
+ * present.
+ */
+public class JsonNodeGenerationVisitorProvider implements GenerationVisitorProvider {
+
+	@Override
+	public Class<?> targetType() {
+		return JsonNode.class;
+	}
+
+	@Override
+	public Supplier<GenerationVisitor> visitorFactory() {
+		return JsonNodeObjectGenerationVisitor::new;
+	}
+
+}
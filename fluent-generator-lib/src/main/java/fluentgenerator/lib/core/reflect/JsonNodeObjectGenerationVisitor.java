@@ -2,30 +2,78 @@ package fluentgenerator.lib.core.reflect;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.function.Supplier;
 
+/**
+ * Creates {@link ObjectNode} with a field per configured property.
+ * <p>
+ * Node is built directly with {@link JsonNodeFactory} of used {@link ObjectMapper}. Common scalar values are turned
+ * into nodes without touching mapper, any other value is converted with {@link ObjectMapper#valueToTree(Object)}.
+ * Mapper is shared by all visitors, default one is used unless other one is configured with
+ * {@link #factory(ObjectMapper)}.
+ */
 public class JsonNodeObjectGenerationVisitor implements GenerationVisitor {
 
-	private Map<String, Object> values = new HashMap<>();
-	private final ObjectMapper mapper = new ObjectMapper();
+	private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+	private final ObjectMapper mapper;
+	private final JsonNodeFactory nodeFactory;
+	private ObjectNode node;
+
+	public JsonNodeObjectGenerationVisitor() {
+		this(DEFAULT_MAPPER);
+	}
+
+	public JsonNodeObjectGenerationVisitor(ObjectMapper mapper) {
+		this.mapper = mapper;
+		this.nodeFactory = mapper.getNodeFactory();
+	}
+
+	/**
+	 * @param mapper mapper shared by created visitors
+	 * @return visitor factory which may be registered for {@link JsonNode} target type
+	 */
+	public static Supplier<GenerationVisitor> factory(ObjectMapper mapper) {
+		return () -> new JsonNodeObjectGenerationVisitor(mapper);
+	}
 
 	@Override
 	public void acceptConstructorStrategy(ConstructorStrategy constructorStrategy) {
-		values.clear();
+		node = nodeFactory.objectNode();
 	}
 
 	@Override
 	public void acceptPropertySupplier(Property property, Supplier<Object> supplier) {
-		values.put(property.getName(), supplier.get());
+		node.set(property.getName(), toNode(supplier.get()));
 	}
 
 	@Override
 	public Object finishObject() {
-		JsonNode node = mapper.convertValue(values, JsonNode.class);
-		return node;
+		ObjectNode result = node;
+		node = null;
+		return result;
+	}
+
+	private JsonNode toNode(Object value) {
+		if (value == null) {
+			return nodeFactory.nullNode();
+		} else if (value instanceof JsonNode) {
+			return (JsonNode) value;
+		} else if (value instanceof String) {
+			return nodeFactory.textNode((String) value);
+		} else if (value instanceof Integer) {
+			return nodeFactory.numberNode((Integer) value);
+		} else if (value instanceof Long) {
+			return nodeFactory.numberNode((Long) value);
+		} else if (value instanceof Double) {
+			return nodeFactory.numberNode((Double) value);
+		} else if (value instanceof Boolean) {
+			return nodeFactory.booleanNode((Boolean) value);
+		}
+		return mapper.valueToTree(value);
 	}
 
 }
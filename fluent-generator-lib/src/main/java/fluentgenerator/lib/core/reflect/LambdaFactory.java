@@ -0,0 +1,59 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+
+/**
+ * Turns resolved method handles into instances of functional interfaces with {@link LambdaMetafactory}.
+ * <p>
+ * Classes spun this way are defined in context of this library, so they can only refer to public classes visible
+ * from its class loader. Callers should keep using method handle when {@code null} is returned.
+ */
+final class LambdaFactory {
+
+	private LambdaFactory() {}
+
+	/**
+	 * @param targetClass class referenced by implementation method
+	 * @return true if lambda referencing given class may be created
+	 */
+	static boolean supports(Class<?> targetClass) {
+		if (!Modifier.isPublic(targetClass.getModifiers())) {
+			return false;
+		}
+
+		try {
+			return Class.forName(targetClass.getName(), false, LambdaFactory.class.getClassLoader()) == targetClass;
+		} catch (ClassNotFoundException | LinkageError ex) {
+			return false;
+		}
+	}
+
+	/**
+	 * @param functionalInterface implemented interface
+	 * @param methodName          name of its single abstract method
+	 * @param methodType          erased type of that method
+	 * @param implementation      direct method handle implementing it
+	 * @param instantiatedType    type of that method specialized for given implementation
+	 * @param <T>                 implemented interface
+	 * @return new instance implementing given interface or {@code null} if it can't be created
+	 */
+	static <T> T create(Class<T> functionalInterface, String methodName, MethodType methodType,
+						MethodHandle implementation, MethodType instantiatedType) {
+		try {
+			CallSite site = LambdaMetafactory.metafactory(MethodHandles.lookup(),
+				methodName,
+				MethodType.methodType(functionalInterface),
+				methodType,
+				implementation,
+				instantiatedType);
+			return functionalInterface.cast(site.getTarget().invoke());
+		} catch (Throwable ex) {
+			return null;
+		}
+	}
+}
@@ -3,19 +3,32 @@ package fluentgenerator.lib.core.reflect;
 import fluentgenerator.lib.core.GeneratorException;
 
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 public class ObjectGenerationVisitor implements GenerationVisitor{
 
 	private Class<?> targetClass;
 	private Class<?> generatorClass;
+	private Map<Property, PropertySetter> setters;
 	private Object constructedObject;
 
 	public ObjectGenerationVisitor(Class<?> targetClass, Class<?> generatorClass) {
+		this(targetClass, generatorClass, Collections.emptyMap());
+	}
+
+	/**
+	 * @param setters setters resolved up front, properties missing in this map are resolved on demand
+	 */
+	public ObjectGenerationVisitor(Class<?> targetClass, Class<?> generatorClass,
+								   Map<Property, PropertySetter> setters) {
 		this.targetClass = targetClass;
 		this.generatorClass = generatorClass;
+		this.setters = setters;
 	}
 
 	@Override
@@ -35,58 +48,19 @@ public class ObjectGenerationVisitor implements GenerationVisitor{
 
 	@Override
 	public void acceptPropertySupplier(Property property, Supplier<Object> supplier) {
-		String setterName = fieldNameToSetterName(property.getName());
-
-		Object v = supplier.get();
-
-		Optional<Method> method = Optional.empty();
-
-		try {
-			method = Optional.of(methodFromClass(targetClass, setterName, property.getType()));
-		} catch (NoSuchMethodException ex) {
-			// do nothing
+		PropertySetter setter = setters.get(property);
+		if (setter == null || setter.getProperty().getType() != property.getType()) {
+			setter = PropertySetter.resolve(targetClass, generatorClass, property);
 		}
 
-		if(!method.isPresent()) {
-			try {
-				method = Optional.ofNullable(methodFromClass(targetClass, setterName, v.getClass()));
-			} catch (NoSuchMethodException ex) {
-				//do nothing
-			}
-		}
-
-		try {
-			method
-				.orElseThrow(() -> {
-					StringBuilder b = new StringBuilder();
-					b.append("Can't find method ")
-						.append(setterName)
-						.append(" which takes parameter ")
-						.append(property.getType().toString()).append(" or ")
-						.append(v.getClass().toString());
-					return new GeneratorException(generatorClass, b.toString());
-				})
-				.invoke(constructedObject, v);
-		} catch (IllegalAccessException ex) {
-			StringBuilder b = new StringBuilder();
-			b
-				.append("Can't execute method ").append(setterName)
-				.append(" . Method is inaccessible on instance of class ")
-				.append(targetClass.toString()).append(" .");
-			throw new GeneratorException(generatorClass, b.toString(), ex);
-		} catch (IllegalArgumentException ex) {
-			StringBuilder b = new StringBuilder();
-			b
-				.append("Can't execute method ").append(setterName)
-				.append(" . Invalid argument.");
-			throw new GeneratorException(generatorClass, b.toString(), ex);
-		} catch (InvocationTargetException ex) {
-			StringBuilder b = new StringBuilder();
-			b
-				.append("Can't execute method ").append(setterName)
-				.append(" on instance of class ").append(targetClass.toString())
-				.append(" .");
-			throw new GeneratorException(generatorClass, b.toString(), ex);
+		if (supplier instanceof IntSupplier) {
+			setter.setInt(constructedObject, ((IntSupplier) supplier).getAsInt());
+		} else if (supplier instanceof LongSupplier) {
+			setter.setLong(constructedObject, ((LongSupplier) supplier).getAsLong());
+		} else if (supplier instanceof DoubleSupplier) {
+			setter.setDouble(constructedObject, ((DoubleSupplier) supplier).getAsDouble());
+		} else {
+			setter.set(constructedObject, supplier.get());
 		}
 	}
 
@@ -95,16 +69,4 @@ public class ObjectGenerationVisitor implements GenerationVisitor{
 		return constructedObject;
 	}
 
-	private String fieldNameToSetterName(String fieldName) {
-		StringBuilder builder = new StringBuilder();
-		return builder
-			.append("set")
-			.append(fieldName.substring(0, 1).toUpperCase())
-			.append(fieldName.substring(1))
-			.toString();
-	}
-
-	private Method methodFromClass(Class<?> source, String methodName, Class<?> argType) throws NoSuchMethodException {
-		return source.getMethod(methodName, argType);
-	}
 }
@@ -0,0 +1,113 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Adapts {@link IntSupplier}, {@link LongSupplier} and {@link DoubleSupplier} passed to generator setters, so that
+ * they can be stored next to other property suppliers.
+ * <p>
+ * Adapters still implement primitive supplier interface. {@link ObjectGenerationVisitor} checks for it and passes
+ * primitive value straight to setter, so primitive properties are filled without boxing. Other visitors simply call
+ * {@link #get()}.
+ */
+public abstract class PrimitiveSupplierAdapter implements Supplier<Object> {
+
+	private PrimitiveSupplierAdapter() {}
+
+	/**
+	 * @param parameterType type of setter parameter
+	 * @return true if given type is one of supported primitive supplier interfaces
+	 */
+	public static boolean isPrimitiveSupplier(Class<?> parameterType) {
+		return parameterType == IntSupplier.class
+			|| parameterType == LongSupplier.class
+			|| parameterType == DoubleSupplier.class;
+	}
+
+	/**
+	 * @param parameterType primitive supplier interface
+	 * @return primitive type of supplied values
+	 */
+	public static Class<?> valueType(Class<?> parameterType) {
+		if (parameterType == IntSupplier.class) {
+			return int.class;
+		} else if (parameterType == LongSupplier.class) {
+			return long.class;
+		} else if (parameterType == DoubleSupplier.class) {
+			return double.class;
+		}
+		throw new IllegalArgumentException(parameterType + " is not primitive supplier");
+	}
+
+	/**
+	 * @param supplier instance of primitive supplier interface
+	 * @return property supplier which also implements the same primitive supplier interface
+	 */
+	public static Supplier<Object> adapt(Object supplier) {
+		if (supplier instanceof IntSupplier) {
+			return new OfInt((IntSupplier) supplier);
+		} else if (supplier instanceof LongSupplier) {
+			return new OfLong((LongSupplier) supplier);
+		} else if (supplier instanceof DoubleSupplier) {
+			return new OfDouble((DoubleSupplier) supplier);
+		}
+		throw new IllegalArgumentException(String.valueOf(supplier) + " is not primitive supplier");
+	}
+
+	static final class OfInt extends PrimitiveSupplierAdapter implements IntSupplier {
+		private final IntSupplier delegate;
+
+		OfInt(IntSupplier delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public int getAsInt() {
+			return delegate.getAsInt();
+		}
+
+		@Override
+		public Object get() {
+			return delegate.getAsInt();
+		}
+	}
+
+	static final class OfLong extends PrimitiveSupplierAdapter implements LongSupplier {
+		private final LongSupplier delegate;
+
+		OfLong(LongSupplier delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public long getAsLong() {
+			return delegate.getAsLong();
+		}
+
+		@Override
+		public Object get() {
+			return delegate.getAsLong();
+		}
+	}
+
+	static final class OfDouble extends PrimitiveSupplierAdapter implements DoubleSupplier {
+		private final DoubleSupplier delegate;
+
+		OfDouble(DoubleSupplier delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public double getAsDouble() {
+			return delegate.getAsDouble();
+		}
+
+		@Override
+		public Object get() {
+			return delegate.getAsDouble();
+		}
+	}
+}
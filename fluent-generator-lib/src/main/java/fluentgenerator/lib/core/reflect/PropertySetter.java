@@ -0,0 +1,339 @@
+package fluentgenerator.lib.core.reflect;
+
+import fluentgenerator.lib.core.GeneratorException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Writes value of single property into instance of generated object.
+ * <p>
+ * Setter method is looked up once using declared property type. If target class has no setter accepting that type,
+ * setter is resolved using runtime class of the first value and remembered until value of other class is passed.
+ * Models without {@code setXxx} methods are supported as well: if there is no setter, fluent accessor named after
+ * property, like {@code xxx(value)}, is used and then field named after property. Fields don't have to be public,
+ * but can't be final.
+ * Resolved methods are converted into {@link MethodHandle}s so that invoking them does not require access checks.
+ * Setter found for declared type is additionally turned into {@link BiConsumer} with {@link
+ * java.lang.invoke.LambdaMetafactory}, if target class allows it, so that JIT can inline setter call into build loop.
+ * Setters taking {@code int}, {@code long} or {@code double} also get primitive consumer used by {@link #setInt},
+ * {@link #setLong} and {@link #setDouble}, so primitive values don't have to be boxed.
+ * Setters are cached per target class, so every generator building given class shares the same lookups.
+ */
+public class PropertySetter {
+
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private static final ClassValue<ConcurrentMap<String, PropertySetter>> SETTERS =
+		new ClassValue<ConcurrentMap<String, PropertySetter>>() {
+			@Override
+			protected ConcurrentMap<String, PropertySetter> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>();
+			}
+		};
+
+	private final Class<?> targetClass;
+	private final Class<?> generatorClass;
+	private final Property property;
+	private final String setterName;
+	private final MethodHandle declaredSetter;
+	private final Class<?> declaredParameterType;
+	private final BiConsumer<Object, Object> declaredInvoker;
+	private final ObjIntConsumer<Object> intInvoker;
+	private final ObjLongConsumer<Object> longInvoker;
+	private final ObjDoubleConsumer<Object> doubleInvoker;
+	private volatile RuntimeSetter runtimeSetter;
+
+	private PropertySetter(Class<?> targetClass, Class<?> generatorClass, Property property) {
+		this.targetClass = targetClass;
+		this.generatorClass = generatorClass;
+		this.property = property;
+		this.setterName = fieldNameToSetterName(property.getName());
+
+		Member accessor = findAccessor(property.getType());
+		Method method = accessor instanceof Method ? (Method) accessor : null;
+		this.declaredSetter = accessor != null ? toMethodHandle(accessor) : null;
+		this.declaredParameterType = method != null ? method.getParameterTypes()[0]
+			: accessor != null ? ((Field) accessor).getType() : null;
+		this.declaredInvoker = method != null ? toInvoker(method) : null;
+		this.intInvoker = method != null ? toPrimitiveInvoker(method, ObjIntConsumer.class, int.class) : null;
+		this.longInvoker = method != null ? toPrimitiveInvoker(method, ObjLongConsumer.class, long.class) : null;
+		this.doubleInvoker = method != null ? toPrimitiveInvoker(method, ObjDoubleConsumer.class, double.class) : null;
+	}
+
+	public Property getProperty() {
+		return property;
+	}
+
+	public void set(Object target, Object value) {
+		try {
+			if (declaredInvoker != null) {
+				declaredInvoker.accept(target, value);
+			} else {
+				MethodHandle setter = declaredSetter != null ? declaredSetter : runtimeSetterFor(value);
+				setter.invokeExact(target, value);
+			}
+		} catch (Error | GeneratorException ex) {
+			throw ex;
+		} catch (Throwable ex) {
+			// runtime setter is found for class of value, so only declared setter may fail converting argument
+			if (declaredSetter != null && !isValidArgument(value)) {
+				throw buildInvalidArgumentException(ex);
+			}
+			throw buildCantExecuteSetterException(ex);
+		}
+	}
+
+	public void setInt(Object target, int value) {
+		if (intInvoker != null) {
+			try {
+				intInvoker.accept(target, value);
+			} catch (Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw buildCantExecuteSetterException(ex);
+			}
+		} else {
+			set(target, value);
+		}
+	}
+
+	public void setLong(Object target, long value) {
+		if (longInvoker != null) {
+			try {
+				longInvoker.accept(target, value);
+			} catch (Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw buildCantExecuteSetterException(ex);
+			}
+		} else {
+			set(target, value);
+		}
+	}
+
+	public void setDouble(Object target, double value) {
+		if (doubleInvoker != null) {
+			try {
+				doubleInvoker.accept(target, value);
+			} catch (Error ex) {
+				throw ex;
+			} catch (Throwable ex) {
+				throw buildCantExecuteSetterException(ex);
+			}
+		} else {
+			set(target, value);
+		}
+	}
+
+	private boolean isValidArgument(Object value) {
+		if (value == null) {
+			return !declaredParameterType.isPrimitive();
+		}
+		return MethodType.methodType(declaredParameterType).wrap().returnType().isInstance(value);
+	}
+
+	private GeneratorException buildInvalidArgumentException(Throwable cause) {
+		StringBuilder b = new StringBuilder();
+		b
+			.append("Can't execute method ").append(setterName)
+			.append(" . Invalid argument.");
+		return new GeneratorException(generatorClass, b.toString(), cause);
+	}
+
+	private GeneratorException buildCantExecuteSetterException(Throwable cause) {
+		StringBuilder b = new StringBuilder();
+		b
+			.append("Can't execute method ").append(setterName)
+			.append(" on instance of class ").append(targetClass.toString())
+			.append(" .");
+		return new GeneratorException(generatorClass, b.toString(), cause);
+	}
+
+	private MethodHandle runtimeSetterFor(Object value) {
+		if (value == null) {
+			throw buildCantFindSetterException(null);
+		}
+
+		Class<?> valueClass = value.getClass();
+		RuntimeSetter current = runtimeSetter;
+		if (current != null && current.valueClass == valueClass) {
+			return current.setter;
+		}
+
+		MethodHandle setter = findSetter(valueClass);
+		if (setter == null) {
+			throw buildCantFindSetterException(valueClass);
+		}
+		runtimeSetter = new RuntimeSetter(valueClass, setter);
+		return setter;
+	}
+
+	private MethodHandle findSetter(Class<?> argType) {
+		Member accessor = findAccessor(argType);
+		return accessor != null ? toMethodHandle(accessor) : null;
+	}
+
+	/**
+	 * @return setter, fluent accessor or field, whichever is found first
+	 */
+	private Member findAccessor(Class<?> argType) {
+		Method method = findMethod(setterName, argType);
+		if (method == null) {
+			method = findMethod(property.getName(), argType);
+		}
+		return method != null ? method : findField(argType);
+	}
+
+	private Method findMethod(String name, Class<?> argType) {
+		try {
+			Method method = targetClass.getMethod(name, argType);
+			// fluent lookup must not bind methods like Object.wait(long)
+			if (Modifier.isStatic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+				return null;
+			}
+			return method;
+		} catch (NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+	private Field findField(Class<?> argType) {
+		Class<?> valueType = MethodType.methodType(argType).wrap().returnType();
+
+		for (Class<?> c = targetClass; c != null && c != Object.class; c = c.getSuperclass()) {
+			Field field;
+			try {
+				field = c.getDeclaredField(property.getName());
+			} catch (NoSuchFieldException ex) {
+				continue;
+			}
+
+			int modifiers = field.getModifiers();
+			Class<?> fieldType = MethodType.methodType(field.getType()).wrap().returnType();
+			if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || !fieldType.isAssignableFrom(valueType)) {
+				return null;
+			}
+			return field;
+		}
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private BiConsumer<Object, Object> toInvoker(Method method) {
+		Class<?> owner = method.getDeclaringClass();
+		Class<?> argType = method.getParameterTypes()[0];
+		if (!LambdaFactory.supports(owner) || !(argType.isPrimitive() || LambdaFactory.supports(argType))) {
+			return null;
+		}
+
+		return LambdaFactory.create(BiConsumer.class, "accept", SETTER_TYPE,
+			toDirectMethodHandle(method),
+			MethodType.methodType(void.class, owner, MethodType.methodType(argType).wrap().returnType()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <C> C toPrimitiveInvoker(Method method, Class<?> consumerType, Class<?> primitiveType) {
+		Class<?> owner = method.getDeclaringClass();
+		if (method.getParameterTypes()[0] != primitiveType || !LambdaFactory.supports(owner)) {
+			return null;
+		}
+
+		return (C) LambdaFactory.create(consumerType, "accept",
+			MethodType.methodType(void.class, Object.class, primitiveType),
+			toDirectMethodHandle(method),
+			MethodType.methodType(void.class, owner, primitiveType));
+	}
+
+	private MethodHandle toMethodHandle(Member accessor) {
+		if (accessor instanceof Field) {
+			return toFieldSetter((Field) accessor).asType(SETTER_TYPE);
+		}
+		return toDirectMethodHandle((Method) accessor).asType(SETTER_TYPE);
+	}
+
+	private MethodHandle toFieldSetter(Field field) {
+		try {
+			if (!Modifier.isPublic(field.getModifiers()) || !Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+				field.setAccessible(true);
+			}
+			return MethodHandles.lookup().unreflectSetter(field);
+		} catch (IllegalAccessException | RuntimeException ex) {
+			StringBuilder b = new StringBuilder();
+			b
+				.append("Can't write field ").append(property.getName())
+				.append(" . Field is inaccessible on instance of class ")
+				.append(targetClass.toString()).append(" .");
+			throw new GeneratorException(generatorClass, b.toString(), ex);
+		}
+	}
+
+	private MethodHandle toDirectMethodHandle(Method method) {
+		try {
+			return MethodHandles.publicLookup().unreflect(method);
+		} catch (IllegalAccessException ex) {
+			StringBuilder b = new StringBuilder();
+			b
+				.append("Can't execute method ").append(setterName)
+				.append(" . Method is inaccessible on instance of class ")
+				.append(targetClass.toString()).append(" .");
+			throw new GeneratorException(generatorClass, b.toString(), ex);
+		}
+	}
+
+	private GeneratorException buildCantFindSetterException(Class<?> valueClass) {
+		StringBuilder b = new StringBuilder();
+		b.append("Can't find method ")
+			.append(setterName)
+			.append(", fluent accessor or field ").append(property.getName())
+			.append(" which takes parameter ")
+			.append(property.getType().toString()).append(" or ")
+			.append(String.valueOf(valueClass));
+		return new GeneratorException(generatorClass, b.toString());
+	}
+
+	private static String fieldNameToSetterName(String fieldName) {
+		StringBuilder builder = new StringBuilder();
+		return builder
+			.append("set")
+			.append(fieldName.substring(0, 1).toUpperCase())
+			.append(fieldName.substring(1))
+			.toString();
+	}
+
+	public static PropertySetter resolve(Class<?> targetClass, Class<?> generatorClass, Property property) {
+		String key = generatorClass.getName() + '#' + property.getName() + ':' + property.getType().getName();
+		ConcurrentMap<String, PropertySetter> setters = SETTERS.get(targetClass);
+
+		PropertySetter setter = setters.get(key);
+		if (setter == null) {
+			setter = new PropertySetter(targetClass, generatorClass, property);
+			PropertySetter previous = setters.putIfAbsent(key, setter);
+			if (previous != null) {
+				setter = previous;
+			}
+		}
+		return setter;
+	}
+
+	private static class RuntimeSetter {
+		final Class<?> valueClass;
+		final MethodHandle setter;
+
+		RuntimeSetter(Class<?> valueClass, MethodHandle setter) {
+			this.valueClass = valueClass;
+			this.setter = setter;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package fluentgenerator.lib.core.reflect;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Assigns ordinals to properties configured by generator interface.
+ * <p>
+ * Every method with single parameter, other than {@code constructor} and {@code build}, configures property named after
+ * the method. Overloaded methods configure the same property, so they share ordinal. Ordinals are assigned once per
+ * generator interface and are used by {@link GeneratorConfiguration} as indexes of slots holding property suppliers.
+ */
+public class PropertySlots {
+
+	private static final ClassValue<PropertySlots> SLOTS = new ClassValue<PropertySlots>() {
+		@Override
+		protected PropertySlots computeValue(Class<?> generatorInterface) {
+			return new PropertySlots(generatorInterface);
+		}
+	};
+
+	private final Map<String, Integer> ordinals = new HashMap<>();
+
+	private PropertySlots(Class<?> generatorInterface) {
+		TreeSet<String> names = new TreeSet<>();
+		for (Method method : generatorInterface.getMethods()) {
+			if (isPropertySetter(method)) {
+				names.add(method.getName());
+			}
+		}
+		for (String name : names) {
+			ordinals.put(name, ordinals.size());
+		}
+	}
+
+	public static PropertySlots of(Class<?> generatorInterface) {
+		return SLOTS.get(generatorInterface);
+	}
+
+	/**
+	 * @param propertyName name of property
+	 * @return ordinal of property or -1 if generator interface doesn't configure it
+	 */
+	public int ordinalOf(String propertyName) {
+		Integer ordinal = ordinals.get(propertyName);
+		return ordinal == null ? -1 : ordinal;
+	}
+
+	/**
+	 * @return number of properties configured by generator interface
+	 */
+	public int size() {
+		return ordinals.size();
+	}
+
+	private static boolean isPropertySetter(Method method) {
+		String name = method.getName();
+		return method.getParameterCount() == 1
+			&& !method.isDefault()
+			&& !Modifier.isStatic(method.getModifiers())
+			&& !name.equals("constructor")
+			&& !name.equals("build")
+			&& !name.equals("get");
+	}
+}
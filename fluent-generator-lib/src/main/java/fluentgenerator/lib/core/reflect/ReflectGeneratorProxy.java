@@ -1,20 +1,21 @@
 package fluentgenerator.lib.core.reflect;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import fluentgenerator.core.Generator;
 import fluentgenerator.core.GeneratorFactory;
 import fluentgenerator.lib.core.GeneratorException;
 import fluentgenerator.supplier.StaticValueSupplier;
 
-import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Constructor;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 /**
@@ -32,110 +33,122 @@ import java.util.function.Supplier;
  * other objects than beans which doesn't have no-arg constructor or needs some additional initialization. Generated
  * instance is created just after executing generator {@link Generator#build()} method and before calling any setter
  * method.
+ * <p>
+ * Configuration and building of objects is delegated to {@link GeneratorConfiguration}. Bulk methods of {@link
+ * Generator}, like {@link Generator#buildMany(int)}, resolve build plan once and reuse it for all created objects.
+ * <p>
+ * Every generator interface is analysed once. Its methods are mapped to prepared handlers and type of built objects is
+ * inferred up front, so calls are routed without comparing method names or using reflection.
  *
  * @see Generator
  * @see GeneratorFactory
  */
-public class ReflectGeneratorProxy implements InvocationHandler {
+public class ReflectGeneratorProxy implements InvocationHandler, BuildPlanSource {
 
-	private final Class<?> currentInterface;
-	private final Map<Property, Supplier<Object>> propertySuppliers = new HashMap<>();
-	private Optional<ConstructorStrategy> constructorStrategy = Optional.empty();
-	private Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor = new HashMap<>();
+	private static final Object[] NO_ARGS = new Object[0];
 
-	public ReflectGeneratorProxy(Class<?> currentInterface) {
-		this.currentInterface = currentInterface;
-
-		if(isPresent("com.fasterxml.jackson.databind.JsonNode")) {
-			targetTypeToVisitor.put(JsonNode.class, JsonNodeObjectGenerationVisitor::new);
+	private static final ClassValue<DispatchTable> DISPATCH_TABLES = new ClassValue<DispatchTable>() {
+		@Override
+		protected DispatchTable computeValue(Class<?> generatorInterface) {
+			return new DispatchTable(generatorInterface);
 		}
-	}
+	};
 
-	@Override
-	public Object invoke(Object proxy, Method method, Object[] args)
-		throws InstantiationException, InvocationTargetException, IllegalAccessException {
-		String methodName = method.getName();
-
-		if (methodName.compareTo("build") == 0
-			|| methodName.compareTo("get") == 0) {
-
-			if(args == null || args.length == 0) {
-				Class<?> targetType = inferTargetClass(currentInterface);
-				return invokeBuild(targetType);
-			}
+	private final Class<?> currentInterface;
+	private final GeneratorConfiguration configuration;
+	private final DispatchTable dispatchTable;
 
-			if(args[0] instanceof Class) {
-				Class targetType = (Class) args[0];
-				return invokeBuild(targetType);
-			}
+	public ReflectGeneratorProxy(Class<?> currentInterface) {
+		this(currentInterface, new GeneratorConfiguration(currentInterface));
+	}
 
-			throw buildCantHandleBuildRequest(currentInterface, methodName, args);
+	public ReflectGeneratorProxy(Class<?> currentInterface,
+								 Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor) {
+		this(currentInterface, targetTypeToVisitor, GenerationListener.NOOP);
+	}
 
-		} else if (methodName.compareTo("constructor") == 0) {
+	public ReflectGeneratorProxy(Class<?> currentInterface,
+								 Map<Class<?>, Supplier<GenerationVisitor>> targetTypeToVisitor,
+								 GenerationListener listener) {
+		this(currentInterface, new GeneratorConfiguration(currentInterface, targetTypeToVisitor, listener));
+	}
 
-			return invokeContructor(proxy, method, args);
+	public ReflectGeneratorProxy(Class<?> currentInterface, GenerationVisitorRegistry visitors,
+								 GenerationListener listener) {
+		this(currentInterface, new GeneratorConfiguration(currentInterface, visitors, listener));
+	}
 
-		} else if (method.isDefault()) {
+	private ReflectGeneratorProxy(Class<?> currentInterface, GeneratorConfiguration configuration) {
+		this.currentInterface = currentInterface;
+		this.configuration = configuration;
+		this.dispatchTable = DISPATCH_TABLES.get(currentInterface);
+	}
 
-			return invokeDefaultMethod(proxy, method, args);
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args)
+		throws InstantiationException, InvocationTargetException, IllegalAccessException {
+		return dispatchTable.handler(method).invoke(this, proxy, args);
+	}
 
-		} else {
-			if (args == null || args.length != 1) {
-				throw new GeneratorException(currentInterface, "Setter method should have exactly one parameter");
-			}
+	@Override
+	public BuildPlan buildPlan() {
+		return configuration.buildPlan(dispatchTable.targetType());
+	}
 
-			invokeSetter(methodName, method.getParameterTypes()[0], args[0]);
-			return negotiateReturnValue(proxy, method, args);
+	private Object invokeBuildAs(String methodName, Object[] args) {
+		if (args[0] instanceof Class) {
+			return configuration.build((Class<?>) args[0]);
 		}
+		throw buildCantHandleBuildRequest(currentInterface, methodName, args);
 	}
 
-	private Object invokeDefaultMethod(Object proxy, Method method, Object[] args) {
+	private Object invokeDefaultMethod(Object proxy, Method method, MethodHandle handle, Object[] args) {
 		try {
-			Constructor<MethodHandles.Lookup> LOOKUP_CONSTRUCTOR =
-				MethodHandles.Lookup.class.getDeclaredConstructor(Class.class, int.class);
-			if (!LOOKUP_CONSTRUCTOR.isAccessible()) {
-				LOOKUP_CONSTRUCTOR.setAccessible(true);
-			}
-
-			return LOOKUP_CONSTRUCTOR.newInstance(method.getDeclaringClass(), MethodHandles.Lookup.PRIVATE)
-				.unreflectSpecial(method, method.getDeclaringClass())
-				.bindTo(proxy)
-				.invokeWithArguments(args);
+			Object[] arguments = args == null ? NO_ARGS : args;
+			return (Object) handle.invokeExact(proxy, arguments);
 		} catch (Throwable throwable) {
 			throw buildCantExecuteDefaultMethod(currentInterface, method.getName(), args, throwable);
 		}
 	}
 
-	private void invokeSetter(String fieldName, Class<?> parameterType, Object value) {
-		if (Supplier.class.isAssignableFrom(parameterType)) {
-			storePropertyValueSupplier(fieldName, parameterType, (Supplier) value);
-		} else {
-			storePropertyValueSupplier(fieldName, parameterType, StaticValueSupplier.build(value));
+	private Object invokeFreeze(Object proxy) {
+		if (configuration.isFrozen()) {
+			return proxy;
 		}
-	}
 
-	private Object invokeBuild(Class<?> targetType) {
-		GenerationVisitor visitor = null;
+		ReflectGeneratorProxy frozen = new ReflectGeneratorProxy(currentInterface, configuration.freeze());
+		frozen.prepareBuildPlan();
+		return frozen.newProxyInstance();
+	}
 
-		for(Class<?> mappingKey : targetTypeToVisitor.keySet()) {
-			if(mappingKey.isAssignableFrom(targetType)) {
-				visitor = targetTypeToVisitor.get(mappingKey).get();
-			}
-		}
-		if(visitor == null) {
-			visitor = new ObjectGenerationVisitor(targetType, currentInterface);
+	/**
+	 * Compiles build plan up front, so that threads sharing frozen generator don't have to.
+	 */
+	private void prepareBuildPlan() {
+		try {
+			buildPlan();
+		} catch (GeneratorException ex) {
+			// target type can't be inferred or built, error is reported when object is built
 		}
+	}
 
-		visitor.acceptConstructorStrategy(constructorStrategy.orElse(new DefaultConstructorStrategy(targetType)));
-
-		for(Property p : propertySuppliers.keySet()) {
-			visitor.acceptPropertySupplier(p, propertySuppliers.get(p));
+	private Object invokeSetter(Object proxy, int slot, Property property, Supplier<Object> supplier,
+								boolean returnsProxy) {
+		if (configuration.isFrozen() && returnsProxy) {
+			ReflectGeneratorProxy copy = new ReflectGeneratorProxy(currentInterface, configuration.copy());
+			copy.configuration.storePropertyValueSupplier(slot, property, supplier);
+			return copy.newProxyInstance();
 		}
 
-		return visitor.finishObject();
+		configuration.storePropertyValueSupplier(slot, property, supplier);
+		return returnsProxy ? proxy : null;
+	}
+
+	private Object newProxyInstance() {
+		return Proxy.newProxyInstance(currentInterface.getClassLoader(), new Class<?>[]{currentInterface}, this);
 	}
 
-	private Object invokeContructor(Object proxy, Method method, Object[] args) {
+	private Object invokeContructor(Object proxy, Object[] args, boolean returnsProxy) {
 		if (args == null || args.length != 1) {
 			throw new GeneratorException(currentInterface, "Constructor method should be called with exactly one parameter of type Supplier<Object>");
 		}
@@ -147,104 +160,14 @@ public class ReflectGeneratorProxy implements InvocationHandler {
 
 		Supplier<Object> supplier = (Supplier<Object>) args[0];
 
-		constructorStrategy = Optional.of(new SupplierConstructorStrategy(supplier));
-
-		return null;
-	}
-
-	private Object negotiateReturnValue(Object proxy, Method method, Object[] args) {
-		Class<?> returnType = method.getReturnType();
-
-		if (returnType == currentInterface) {
-			return proxy;
-		} else if (returnType == Object.class) {
-			return proxy;
-		} else {
-			return null;
-		}
-	}
-
-	private void storePropertyValueSupplier(
-		String propertyName, Class<?> propertyType, Supplier<Object> valueProvider) {
-		propertySuppliers.put(Property.build(propertyName, propertyType), valueProvider);
-	}
-
-	private Class<?> inferTargetClass(Class<?> currentInterface) {
-		Class<?> targetClass = Object.class;
-
-		try {
-			// Only build method defined in generator interface provides hints about
-			// target type.
-			Method buildMethod = currentInterface.getMethod("build");
-			if (buildMethod.getReturnType() != Object.class) {
-				targetClass = buildMethod.getReturnType();
-			}
-		} catch (NoSuchMethodException | SecurityException ex) {
-			// there is no possibility to find build method and infer
-			// generated object type.
-			throw buildCantFindBuildMethodException(this.currentInterface, ex);
-		}
-
-		// This checks if return type was inferred correctly from provided
-		// generator interface. If not then this will lead almost
-		// for sure to other problems later on, it is worth to report
-		// exception.
-		if(targetClass == Object.class) {
-			throw buildCantInferReturnTypeException(this.currentInterface);
-		}
-
-		return targetClass;
-	}
-
-	private class DefaultConstructorStrategy implements ConstructorStrategy {
-		private final Class<?> _classs;
-
-		DefaultConstructorStrategy(Class<?> classs) {
-			_classs = classs;
-		}
-
-		@Override
-		public Object get() throws
-			InstantiationException, InvocationTargetException,
-			IllegalAccessException {
-			Object o = _classs.newInstance();
-			return o;
-		}
-	}
-
-	private class SupplierConstructorStrategy implements ConstructorStrategy {
-		private final Supplier<Object> _supplier;
-
-		public SupplierConstructorStrategy(Supplier<Object> supplier) {
-			this._supplier = supplier;
+		if (configuration.isFrozen() && returnsProxy) {
+			ReflectGeneratorProxy copy = new ReflectGeneratorProxy(currentInterface, configuration.copy());
+			copy.configuration.storeConstructorSupplier(supplier);
+			return copy.newProxyInstance();
 		}
 
-		@Override
-		public Object get() throws
-			InstantiationException, InvocationTargetException,
-			IllegalAccessException {
-			Object o = _supplier.get();
-			if (o == null) {
-				StringBuilder b = new StringBuilder();
-				b.append("Error when instantiating object instance.")
-					.append(" Provided supplier method returned null.");
-				throw new InstantiationException(b.toString());
-			}
-			return o;
-		}
-	}
-
-	private static GeneratorException buildCantInferReturnTypeException(Class<?> genIface) {
-		StringBuilder b = new StringBuilder();
-		b.append("Can't infer model type created by this generator. Is build method for generator interface declared?");
-		return new GeneratorException(genIface, b.toString());
-	}
-
-	private static GeneratorException buildCantFindBuildMethodException(Class<?> genIface, Exception cause) {
-		StringBuilder b = new StringBuilder();
-		b.append("Can't find build method in provided generator interface. Does provided interface extends ")
-			.append(Generator.class.toString()).append(" interface");
-		return new GeneratorException(genIface, b.toString(), cause);
+		configuration.storeConstructorSupplier(supplier);
+		return returnsProxy ? proxy : null;
 	}
 
 	private static GeneratorException buildCantHandleBuildRequest(Class<?> genIface,
@@ -272,4 +195,136 @@ public class ReflectGeneratorProxy implements InvocationHandler {
 			return false;
 		}
 	}
+
+	private interface MethodHandler {
+		Object invoke(ReflectGeneratorProxy generator, Object proxy, Object[] args)
+			throws InstantiationException, InvocationTargetException, IllegalAccessException;
+	}
+
+	/**
+	 * Handlers of methods of single generator interface. Every method is analysed once, the first time it is called
+	 * on any generator implementing the interface, so calls are routed without inspecting method names.
+	 */
+	private static class DispatchTable {
+
+		private final Class<?> generatorInterface;
+		private final ConcurrentMap<Method, MethodHandler> handlers = new ConcurrentHashMap<>();
+		private final Class<?> targetType;
+		private final GeneratorException targetTypeError;
+
+		DispatchTable(Class<?> generatorInterface) {
+			this.generatorInterface = generatorInterface;
+
+			Class<?> type = null;
+			GeneratorException error = null;
+			try {
+				type = GeneratorConfiguration.inferTargetClass(generatorInterface);
+			} catch (GeneratorException ex) {
+				// reported when object is built, generator may still be used for building objects of given class
+				error = ex;
+			}
+			this.targetType = type;
+			this.targetTypeError = error;
+		}
+
+		Class<?> targetType() {
+			if (targetTypeError != null) {
+				throw targetTypeError;
+			}
+			return targetType;
+		}
+
+		MethodHandler handler(Method method) {
+			MethodHandler handler = handlers.get(method);
+			if (handler == null) {
+				handler = analyse(method);
+				handlers.putIfAbsent(method, handler);
+			}
+			return handler;
+		}
+
+		@SuppressWarnings("unchecked")
+		private MethodHandler analyse(Method method) {
+			String methodName = method.getName();
+
+			if (methodName.equals("build") || methodName.equals("get")) {
+				return (generator, proxy, args) -> args == null || args.length == 0
+					? generator.configuration.build(targetType())
+					: generator.invokeBuildAs(methodName, args);
+			}
+
+			if (methodName.equals("constructor")) {
+				boolean returnsProxy = returnsGenerator(method);
+				return (generator, proxy, args) -> generator.invokeContructor(proxy, args, returnsProxy);
+			}
+
+			if (methodName.equals("freeze") && method.getParameterCount() == 0) {
+				return (generator, proxy, args) -> generator.invokeFreeze(proxy);
+			}
+
+			if (method.isDefault() && method.getDeclaringClass() == Generator.class) {
+				switch (methodName) {
+					case "buildMany":
+						return (generator, proxy, args) -> generator.buildPlan().buildMany((Integer) args[0]);
+					case "fill":
+						return (generator, proxy, args) -> {
+							generator.buildPlan().fill((Collection<Object>) args[0], (Integer) args[1]);
+							return null;
+						};
+					case "stream":
+						return (generator, proxy, args) -> args == null
+							? generator.buildPlan().stream()
+							: generator.buildPlan().stream((Long) args[0]);
+					case "buildInto":
+						return (generator, proxy, args) -> generator.buildPlan().buildInto(args[0]);
+				}
+			}
+
+			if (method.isDefault()) {
+				MethodHandle handle;
+				try {
+					handle = DefaultMethodHandles.of(method);
+				} catch (ReflectiveOperationException | RuntimeException ex) {
+					return (generator, proxy, args) -> {
+						throw buildCantExecuteDefaultMethod(generatorInterface, methodName, args, ex);
+					};
+				}
+				return (generator, proxy, args) -> generator.invokeDefaultMethod(proxy, method, handle, args);
+			}
+
+			if (method.getParameterCount() != 1) {
+				return (generator, proxy, args) -> {
+					throw new GeneratorException(generatorInterface, "Setter method should have exactly one parameter");
+				};
+			}
+
+			return setter(method);
+		}
+
+		@SuppressWarnings("unchecked")
+		private MethodHandler setter(Method method) {
+			Class<?> parameterType = method.getParameterTypes()[0];
+			boolean returnsProxy = returnsGenerator(method);
+			int slot = PropertySlots.of(generatorInterface).ordinalOf(method.getName());
+
+			if (Supplier.class.isAssignableFrom(parameterType)) {
+				Property property = Property.build(method.getName(), parameterType);
+				return (generator, proxy, args) ->
+					generator.invokeSetter(proxy, slot, property, (Supplier<Object>) args[0], returnsProxy);
+			} else if (PrimitiveSupplierAdapter.isPrimitiveSupplier(parameterType)) {
+				Property property = Property.build(method.getName(), PrimitiveSupplierAdapter.valueType(parameterType));
+				return (generator, proxy, args) ->
+					generator.invokeSetter(proxy, slot, property, PrimitiveSupplierAdapter.adapt(args[0]), returnsProxy);
+			} else {
+				Property property = Property.build(method.getName(), parameterType);
+				return (generator, proxy, args) ->
+					generator.invokeSetter(proxy, slot, property, StaticValueSupplier.build(args[0]), returnsProxy);
+			}
+		}
+
+		private boolean returnsGenerator(Method method) {
+			Class<?> returnType = method.getReturnType();
+			return returnType == generatorInterface || returnType == Object.class;
+		}
+	}
 }
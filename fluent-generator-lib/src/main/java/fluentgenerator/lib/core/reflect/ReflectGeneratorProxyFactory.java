@@ -5,6 +5,7 @@ import fluentgenerator.core.GeneratorFactory;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
 
 /**
  * Creates generator interface implementations using Java Dynamic Proxies and {@link ReflectGeneratorProxy} as a backend
@@ -15,6 +16,34 @@ import java.lang.reflect.Proxy;
  */
 public class ReflectGeneratorProxyFactory implements GeneratorFactory {
 
+	private GenerationVisitorRegistry visitors = GenerationVisitorRegistry.defaults();
+	private GenerationListener listener = GenerationListener.NOOP;
+
+	/**
+	 * Registers visitor used to build objects of given type, and its subtypes, by generators created afterwards.
+	 * For instance it may be used to plug in shared, preconfigured {@code ObjectMapper} with {@link
+	 * JsonNodeObjectGenerationVisitor#factory}.
+	 *
+	 * @param targetType     type of built objects
+	 * @param visitorFactory creates visitor for every built object
+	 * @return this factory
+	 */
+	public ReflectGeneratorProxyFactory visitor(Class<?> targetType, Supplier<GenerationVisitor> visitorFactory) {
+		visitors = visitors.with(targetType, visitorFactory);
+		return this;
+	}
+
+	/**
+	 * Registers listener receiving duration of building steps of generators created afterwards.
+	 *
+	 * @param listener listener, {@link GenerationListener#NOOP} turns instrumentation off
+	 * @return this factory
+	 */
+	public ReflectGeneratorProxyFactory listener(GenerationListener listener) {
+		this.listener = listener;
+		return this;
+	}
+
 	/**
 	 * Creates generator implementation for a given generator interface
 	 *
@@ -24,7 +53,7 @@ public class ReflectGeneratorProxyFactory implements GeneratorFactory {
 	 */
 	@Override
 	public <T> T generatorInstance(Class<T> generatorClass) {
-		InvocationHandler handler = new ReflectGeneratorProxy(generatorClass);
+		InvocationHandler handler = new ReflectGeneratorProxy(generatorClass, visitors, listener);
 
 		T obj = (T) Proxy.newProxyInstance(generatorClass.getClassLoader(),
 			new Class<?>[]{generatorClass},
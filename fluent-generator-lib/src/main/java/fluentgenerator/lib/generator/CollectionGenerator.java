@@ -1,53 +1,193 @@
 package fluentgenerator.lib.generator;
 
 import fluentgenerator.core.Generator;
+import fluentgenerator.core.RandomSource;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
+ * Generates collections made of elements created by added suppliers.
+ * <p>
+ * Suppliers are kept together with number of elements they create, so the plan takes memory proportional to number
+ * of suppliers, not to size of generated collection. After {@link #randomize()} elements are created in order given
+ * by random permutation of their positions, which is computed on the fly, one position at a time.
+ *
  * @param <T> type of generated instances
  */
 public class CollectionGenerator<T> implements Generator<Collection<T>> {
-	
-	private final List<Supplier<? extends T>> _suppliers = new ArrayList<>();
-	
+
+	private Supplier<? extends T>[] _suppliers = newSuppliers(4);
+	// exclusive end position of elements created by each supplier
+	private long[] _ends = new long[4];
+	private int _entries = 0;
+	private IndexPermutation _permutation;
+
 	private CollectionGenerator() {}
-	
+
 	public static <E> CollectionGenerator<E> create() {
 		return new CollectionGenerator<>();
 	}
-	
+
 	public CollectionGenerator<T> add(Supplier<? extends T> gen) {
 		return add(gen, 1);
 	}
-	
+
 	public CollectionGenerator<T> add(Supplier<? extends T> gen, int num) {
-		for(int i = num; i > 0; i--) {
-			_suppliers.add(gen);
+		if(num <= 0) {
+			return this;
 		}
+
+		long size = size();
+		if(_entries > 0 && _suppliers[_entries - 1] == gen) {
+			_ends[_entries - 1] = size + num;
+			return this;
+		}
+
+		if(_entries == _suppliers.length) {
+			_suppliers = Arrays.copyOf(_suppliers, _entries * 2);
+			_ends = Arrays.copyOf(_ends, _entries * 2);
+		}
+		_suppliers[_entries] = gen;
+		_ends[_entries] = size + num;
+		_entries++;
 		return this;
 	}
-	
+
+	/**
+	 * Makes elements created in random order. The order is drawn once, so every collection built afterwards has
+	 * elements in the same order. Elements added later are shuffled too.
+	 *
+	 * @return this generator
+	 */
 	public CollectionGenerator<T> randomize() {
-		Collections.shuffle(_suppliers);
-		Collections.shuffle(_suppliers);
+		_permutation = new IndexPermutation(RandomSource.current());
 		return this;
 	}
 
+	/**
+	 * @return number of elements in generated collection
+	 */
+	public long size() {
+		return _entries == 0 ? 0 : _ends[_entries - 1];
+	}
+
 	@Override
 	public Collection<T> build() {
-		List<T> _items = new ArrayList<>();
+		List<T> _items = new ArrayList<>(checkedSize());
 		fill(_items);
 		return _items;
 	}
-	
+
+	/**
+	 * @return stream which creates elements lazily, one by one, in the same order as {@link #build()}
+	 */
+	public Stream<T> streamElements() {
+		LongStream positions = LongStream.range(0, size());
+		if(_permutation != null) {
+			positions = positions.map(_permutation.forSize(size())::apply);
+		}
+		return positions.mapToObj(position -> supplierAt(position).get());
+	}
+
 	public void fill(Collection<? super T> collection) {
-		for(Supplier<? extends T> supplier : _suppliers) {
-			collection.add(supplier.get());
+		if(collection instanceof ArrayList) {
+			((ArrayList<?>) collection).ensureCapacity(collection.size() + checkedSize());
+		}
+
+		if(_permutation == null) {
+			long position = 0;
+			for(int entry = 0; entry < _entries; entry++) {
+				Supplier<? extends T> supplier = _suppliers[entry];
+				for(; position < _ends[entry]; position++) {
+					collection.add(supplier.get());
+				}
+			}
+		} else {
+			long size = size();
+			Positions positions = _permutation.forSize(size);
+			for(long i = 0; i < size; i++) {
+				collection.add(supplierAt(positions.apply(i)).get());
+			}
+		}
+	}
+
+	private Supplier<? extends T> supplierAt(long position) {
+		int found = Arrays.binarySearch(_ends, 0, _entries, position);
+		// ends are exclusive, so position equal to end belongs to next supplier
+		return _suppliers[found >= 0 ? found + 1 : -found - 1];
+	}
+
+	private int checkedSize() {
+		long size = size();
+		if(size > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Collection of " + size + " elements can't be created, use streamElements() instead");
+		}
+		return (int) size;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Supplier<? extends E>[] newSuppliers(int size) {
+		return (Supplier<? extends E>[]) new Supplier<?>[size];
+	}
+
+	/**
+	 * Random bijection of positions {@code [0, size)}. Positions are scrambled over the smallest power of two not less
+	 * than size by steps which are invertible modulo that power: multiplication by odd number, xor with shifted value
+	 * and addition. Results falling outside of range are scrambled again until they fit, which takes less than two
+	 * rounds on average.
+	 */
+	private static class IndexPermutation {
+
+		private final long _k0, _k1, _k2, _k3;
+
+		IndexPermutation(Random random) {
+			_k0 = random.nextLong();
+			_k1 = random.nextLong() | 1;
+			_k2 = random.nextLong() | 1;
+			_k3 = random.nextLong();
+		}
+
+		Positions forSize(long size) {
+			return new Positions(this, size);
+		}
+	}
+
+	private static class Positions {
+
+		private final long _k0, _k1, _k2, _k3;
+		private final long _size;
+		private final long _mask;
+		private final int _shift;
+
+		Positions(IndexPermutation permutation, long size) {
+			_k0 = permutation._k0;
+			_k1 = permutation._k1;
+			_k2 = permutation._k2;
+			_k3 = permutation._k3;
+			_size = size;
+			int bits = 64 - Long.numberOfLeadingZeros(Math.max(0, size - 1));
+			_mask = bits == 64 ? -1L : (1L << bits) - 1;
+			_shift = Math.max(1, (bits + 1) / 2);
+		}
+
+		long apply(long index) {
+			long x = index;
+			do {
+				x = (x ^ _k0) & _mask;
+				x = (x * _k1) & _mask;
+				x ^= x >>> _shift;
+				x = (x * _k2) & _mask;
+				x ^= x >>> _shift;
+				x = (x + _k3) & _mask;
+			} while(x >= _size);
+			return x;
 		}
 	}
 
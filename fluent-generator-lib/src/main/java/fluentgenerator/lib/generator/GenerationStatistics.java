@@ -0,0 +1,152 @@
+package fluentgenerator.lib.generator;
+
+import fluentgenerator.lib.core.reflect.GenerationListener;
+import fluentgenerator.lib.core.reflect.Property;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects number of calls and latency histograms of every step of building objects.
+ * <p>
+ * Register it on generator factory to find out which property supplier makes generation slow:
+ * <pre>{@code
+ * GenerationStatistics statistics = new GenerationStatistics();
+ * UserGenerator generator = new ReflectGeneratorProxyFactory().listener(statistics)
+ *     .generatorInstance(UserGenerator.class);
+ * ...
+ * System.out.println(statistics);
+ * }</pre>
+ * Latencies are counted in buckets of powers of two nanoseconds, so percentiles are accurate up to factor of two.
+ */
+public class GenerationStatistics implements GenerationListener {
+
+	private final ConcurrentMap<Class<?>, TypeTimers> types = new ConcurrentHashMap<>();
+
+	@Override
+	public void constructed(Class<?> targetType, long nanos) {
+		timers(targetType).constructor.record(nanos);
+	}
+
+	@Override
+	public void propertySupplied(Class<?> targetType, Property property, long nanos) {
+		ConcurrentMap<String, Timer> properties = timers(targetType).properties;
+		Timer timer = properties.get(property.getName());
+		if (timer == null) {
+			properties.putIfAbsent(property.getName(), new Timer());
+			timer = properties.get(property.getName());
+		}
+		timer.record(nanos);
+	}
+
+	@Override
+	public void finished(Class<?> targetType, long nanos) {
+		timers(targetType).finish.record(nanos);
+	}
+
+	/**
+	 * @return timers named after built type and property, like {@code com.example.User.name}, or built type and
+	 * step, {@code com.example.User#constructor} and {@code com.example.User#finishObject}
+	 */
+	public Map<String, Timer> timers() {
+		Map<String, Timer> result = new TreeMap<>();
+		types.forEach((type, timers) -> {
+			result.put(type.getName() + "#constructor", timers.constructor);
+			result.put(type.getName() + "#finishObject", timers.finish);
+			timers.properties.forEach((name, timer) -> result.put(type.getName() + '.' + name, timer));
+		});
+		return result;
+	}
+
+	public void reset() {
+		types.clear();
+	}
+
+	private TypeTimers timers(Class<?> targetType) {
+		TypeTimers timers = types.get(targetType);
+		if (timers == null) {
+			types.putIfAbsent(targetType, new TypeTimers());
+			timers = types.get(targetType);
+		}
+		return timers;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder b = new StringBuilder();
+		timers().forEach((name, timer) -> {
+			if (timer.count() > 0) {
+				b.append(name).append(": ").append(timer).append('\n');
+			}
+		});
+		return b.toString();
+	}
+
+	private static class TypeTimers {
+		final Timer constructor = new Timer();
+		final Timer finish = new Timer();
+		final ConcurrentMap<String, Timer> properties = new ConcurrentHashMap<>();
+	}
+
+	public static class Timer {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		// bucket i counts durations shorter than 2^i nanoseconds, but not shorter than 2^(i-1)
+		private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+		void record(long nanos) {
+			long duration = Math.max(0, nanos);
+			count.increment();
+			totalNanos.add(duration);
+			buckets.incrementAndGet((64 - Long.numberOfLeadingZeros(duration)) & 63);
+		}
+
+		public long count() {
+			return count.sum();
+		}
+
+		public long totalNanos() {
+			return totalNanos.sum();
+		}
+
+		public double meanNanos() {
+			long count = count();
+			return count == 0 ? 0 : (double) totalNanos() / count;
+		}
+
+		/**
+		 * @param percentile value between 0 and 100
+		 * @return upper bound of durations of given percent of calls
+		 */
+		public long percentileNanos(double percentile) {
+			assert percentile >= 0 && percentile <= 100 : "percentile should be between 0 and 100, but " + percentile + " was passed";
+
+			long total = 0;
+			for (int i = 0; i < 64; i++) {
+				total += buckets.get(i);
+			}
+
+			long threshold = (long) Math.ceil(total * percentile / 100);
+			long seen = 0;
+			for (int i = 0; i < 64; i++) {
+				seen += buckets.get(i);
+				if (seen >= threshold && seen > 0) {
+					return i == 63 ? Long.MAX_VALUE : (1L << i) - 1;
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("count=%d, mean=%.0fns, p50<=%dns, p99<=%dns",
+				count(), meanNanos(), percentileNanos(50), percentileNanos(99));
+		}
+	}
+
+}
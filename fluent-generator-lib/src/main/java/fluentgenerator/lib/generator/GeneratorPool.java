@@ -0,0 +1,72 @@
+package fluentgenerator.lib.generator;
+
+import fluentgenerator.core.Generator;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of generated instances which are recycled instead of being created over and over again.
+ * <p>
+ * {@link #acquire()} takes released instance and fills it in with {@link Generator#buildInto(Object)}. New instance is
+ * built only if there is no released one. Instances which are no longer used should be given back with {@link
+ * #release(Object)}, instances released when pool is full are dropped. Properties not configured in generator keep
+ * values from previous use, so generator should configure all properties that matter. Types which get properties
+ * through constructor can't be filled in, so they can't be pooled.
+ * <p>
+ * Pool may be used from many threads, as long as its generator may be.
+ *
+ * @param <T> type of generated instances
+ */
+public class GeneratorPool<T> implements Supplier<T> {
+
+	private final Generator<T> _generator;
+	private final BlockingQueue<T> _released;
+
+	private GeneratorPool(Generator<T> generator, int capacity) {
+		_generator = generator;
+		_released = new ArrayBlockingQueue<>(capacity);
+	}
+
+	/**
+	 * @param generator generator supporting {@link Generator#buildInto(Object)}
+	 * @param capacity  maximum number of released instances kept by pool
+	 * @param <E>       type of generated instances
+	 * @return new pool
+	 */
+	public static <E> GeneratorPool<E> create(Generator<E> generator, int capacity) {
+		assert capacity > 0 : "capacity should be > 0, but " + capacity + " was passed";
+		return new GeneratorPool<>(generator, capacity);
+	}
+
+	/**
+	 * @return released instance filled in with new values or new instance if there is no released one
+	 */
+	public T acquire() {
+		T item = _released.poll();
+		return item == null ? _generator.build() : _generator.buildInto(item);
+	}
+
+	/**
+	 * Gives instance back to pool. Instance shouldn't be used after it is released.
+	 *
+	 * @param item instance acquired from this pool
+	 */
+	public void release(T item) {
+		_released.offer(item);
+	}
+
+	/**
+	 * @return number of released instances waiting for reuse
+	 */
+	public int available() {
+		return _released.size();
+	}
+
+	@Override
+	public T get() {
+		return acquire();
+	}
+
+}
@@ -0,0 +1,160 @@
+package fluentgenerator.lib.generator;
+
+import fluentgenerator.core.RandomSource;
+
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy, sized source of objects provided by {@link Supplier}, for instance by generator.
+ * <p>
+ * Objects are created only when stream consumes them, so generating any number of objects takes constant memory.
+ * Spliterator can be split, so it may be used as a source of parallel streams. It reports {@link #ORDERED}
+ * characteristic only if {@link #ordered()} was called, so unordered parallel streams don't pay for keeping order.
+ * <p>
+ * When {@link #seed(long)} is set, objects are divided into chunks of {@link #chunkSize(int)} elements. Random derived
+ * from seed and chunk index is bound to {@link RandomSource} while objects from given chunk are created. Splits are
+ * aligned to chunk boundaries, so object at given position is always the same, no matter how stream was split.
+ *
+ * @param <T> type of generated instances
+ */
+public class GeneratorSpliterator<T> implements Spliterator<T> {
+
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private final Supplier<? extends T> _supplier;
+	private long _index;
+	private final long _fence;
+	private int _characteristics = SIZED | SUBSIZED | IMMUTABLE;
+	private boolean _seeded = false;
+	private long _seed;
+	private int _chunkSize = DEFAULT_CHUNK_SIZE;
+	private SplittableRandom _random;
+
+	private GeneratorSpliterator(Supplier<? extends T> supplier, long index, long fence) {
+		_supplier = supplier;
+		_index = index;
+		_fence = fence;
+	}
+
+	/**
+	 * @param supplier provides objects
+	 * @param size     number of objects
+	 * @param <E>      type of generated instances
+	 * @return spliterator providing {@code size} objects
+	 */
+	public static <E> GeneratorSpliterator<E> create(Supplier<? extends E> supplier, long size) {
+		assert size >= 0 : "size should be >= 0, but " + size + " was passed";
+		return new GeneratorSpliterator<>(supplier, 0, size);
+	}
+
+	public GeneratorSpliterator<T> ordered() {
+		_characteristics |= ORDERED;
+		return this;
+	}
+
+	public GeneratorSpliterator<T> seed(long seed) {
+		_seeded = true;
+		_seed = seed;
+		return this;
+	}
+
+	public GeneratorSpliterator<T> chunkSize(int chunkSize) {
+		assert chunkSize > 0 : "chunkSize should be > 0, but " + chunkSize + " was passed";
+		_chunkSize = chunkSize;
+		return this;
+	}
+
+	public Stream<T> stream() {
+		return StreamSupport.stream(this, false);
+	}
+
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(this, true);
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (_index >= _fence) {
+			return false;
+		}
+
+		T item = _seeded ? RandomSource.withRandom(chunkRandom(), _supplier) : _supplier.get();
+		_index++;
+		action.accept(item);
+		return true;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super T> action) {
+		if (!_seeded) {
+			for (long i = _index; i < _fence; i++) {
+				action.accept(_supplier.get());
+			}
+			_index = _fence;
+			return;
+		}
+
+		while (_index < _fence) {
+			long from = _index;
+			long to = Math.min(from - from % _chunkSize + _chunkSize, _fence);
+
+			RandomSource.withRandom(chunkRandom(), () -> {
+				for (long i = from; i < to; i++) {
+					action.accept(_supplier.get());
+				}
+				return null;
+			});
+			_index = to;
+		}
+	}
+
+	@Override
+	public Spliterator<T> trySplit() {
+		long mid = _index + (_fence - _index) / 2;
+		if (_seeded) {
+			mid -= mid % _chunkSize;
+		}
+		if (mid <= _index) {
+			return null;
+		}
+
+		GeneratorSpliterator<T> prefix = new GeneratorSpliterator<>(_supplier, _index, mid);
+		prefix._characteristics = _characteristics;
+		prefix._seeded = _seeded;
+		prefix._seed = _seed;
+		prefix._chunkSize = _chunkSize;
+		prefix._random = _random;
+		_index = mid;
+		_random = null;
+		return prefix;
+	}
+
+	@Override
+	public long estimateSize() {
+		return _fence - _index;
+	}
+
+	@Override
+	public int characteristics() {
+		return _characteristics;
+	}
+
+	/**
+	 * Returns random of chunk containing current index. Random of previous chunk is reused as long as objects from
+	 * the same chunk are created, so that consecutive objects get consecutive random values.
+	 */
+	private SplittableRandom chunkRandom() {
+		if (_random == null || _index % _chunkSize == 0) {
+			_random = new SplittableRandom(_seed + (_index / _chunkSize) * GOLDEN_GAMMA).split();
+		}
+		return _random;
+	}
+
+}
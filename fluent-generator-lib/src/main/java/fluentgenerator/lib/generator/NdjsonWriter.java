@@ -0,0 +1,133 @@
+package fluentgenerator.lib.generator;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fluentgenerator.lib.core.reflect.BuildPlan;
+import fluentgenerator.lib.core.reflect.BuildPlanSource;
+import fluentgenerator.lib.core.reflect.GenerationVisitor;
+import fluentgenerator.lib.core.reflect.JsonGeneratorGenerationVisitor;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Writes generated objects as newline delimited JSON, one object per line.
+ * <p>
+ * Objects of generators created by this library are never built. Their configured properties are written directly to
+ * Jackson {@link JsonGenerator} by {@link JsonGeneratorGenerationVisitor}, so no intermediate object nor {@code
+ * JsonNode} tree is created. Objects of any other supplier are built and serialized with {@link ObjectMapper}. In both
+ * cases memory used doesn't depend on number of written objects.
+ */
+public class NdjsonWriter implements Closeable, Flushable {
+
+	private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+	private final JsonGenerator _generator;
+	private final GenerationVisitor _visitor;
+
+	private NdjsonWriter(JsonGenerator generator) {
+		_generator = generator;
+		_generator.setRootValueSeparator(null);
+		_visitor = new JsonGeneratorGenerationVisitor(generator);
+	}
+
+	/**
+	 * @param generator Jackson generator to write to, it should have codec set in order to serialize values
+	 * @return new writer
+	 */
+	public static NdjsonWriter create(JsonGenerator generator) {
+		return new NdjsonWriter(generator);
+	}
+
+	public static NdjsonWriter create(OutputStream out) {
+		return create(out, DEFAULT_MAPPER);
+	}
+
+	public static NdjsonWriter create(OutputStream out, ObjectMapper mapper) {
+		try {
+			return create(mapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * @param path file to write to, it is created or truncated
+	 * @return new writer, closing it closes the file
+	 */
+	public static NdjsonWriter create(Path path) {
+		OutputStream out;
+		try {
+			out = Files.newOutputStream(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		try {
+			NdjsonWriter writer = create(out);
+			writer._generator.enable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			return writer;
+		} catch (RuntimeException e) {
+			try {
+				out.close();
+			} catch (IOException closeException) {
+				e.addSuppressed(closeException);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes single object.
+	 *
+	 * @param generator generator or any other supplier of objects
+	 * @return this writer
+	 */
+	public NdjsonWriter write(Supplier<?> generator) {
+		return write(generator, 1);
+	}
+
+	/**
+	 * Writes {@code n} objects, each in separate line.
+	 *
+	 * @param generator generator or any other supplier of objects
+	 * @param n         number of objects to write
+	 * @return this writer
+	 */
+	public NdjsonWriter write(Supplier<?> generator, long n) {
+		Optional<BuildPlan> plan = BuildPlanSource.of(generator).map(BuildPlanSource::buildPlan);
+
+		try {
+			for (long i = n; i > 0; i--) {
+				if (plan.isPresent()) {
+					plan.get().build(_visitor);
+				} else {
+					_generator.writeObject(generator.get());
+				}
+				_generator.writeRaw('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return this;
+	}
+
+	@Override
+	public void flush() throws IOException {
+		_generator.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		_generator.close();
+	}
+
+}
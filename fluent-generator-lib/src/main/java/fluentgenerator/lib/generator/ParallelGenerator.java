@@ -0,0 +1,74 @@
+package fluentgenerator.lib.generator;
+
+import fluentgenerator.core.RandomSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Builds large number of objects in parallel.
+ * <p>
+ * Requested objects are divided into chunks of fixed size. Every chunk gets its own random, derived from
+ * {@link #seed(long)} and chunk index, which is bound to {@link RandomSource} while chunk is generated.
+ * Chunks and their randoms don't depend on number of worker threads, so given seed always yields the same objects in
+ * the same order as long as used suppliers draw random values from {@link RandomSource}. Suppliers keeping own state,
+ * like indexed strings, are thread-safe but their values are not assigned deterministically.
+ * <p>
+ * Provided supplier is called concurrently from many threads.
+ *
+ * @param <T> type of generated instances
+ * @see GeneratorSpliterator
+ */
+public class ParallelGenerator<T> {
+
+	public static final int DEFAULT_CHUNK_SIZE = GeneratorSpliterator.DEFAULT_CHUNK_SIZE;
+
+	private final Supplier<? extends T> _supplier;
+	private long _seed = ThreadLocalRandom.current().nextLong();
+	private ForkJoinPool _pool = ForkJoinPool.commonPool();
+	private int _chunkSize = DEFAULT_CHUNK_SIZE;
+
+	private ParallelGenerator(Supplier<? extends T> supplier) {
+		_supplier = supplier;
+	}
+
+	public static <E> ParallelGenerator<E> create(Supplier<? extends E> supplier) {
+		return new ParallelGenerator<>(supplier);
+	}
+
+	public ParallelGenerator<T> seed(long seed) {
+		_seed = seed;
+		return this;
+	}
+
+	public ParallelGenerator<T> pool(ForkJoinPool pool) {
+		_pool = pool;
+		return this;
+	}
+
+	public ParallelGenerator<T> chunkSize(int chunkSize) {
+		assert chunkSize > 0 : "chunkSize should be > 0, but " + chunkSize + " was passed";
+		_chunkSize = chunkSize;
+		return this;
+	}
+
+	/**
+	 * @param n number of objects to build
+	 * @return fixed-size list of built objects
+	 */
+	@SuppressWarnings("unchecked")
+	public List<T> buildMany(int n) {
+		GeneratorSpliterator<T> source = GeneratorSpliterator.<T>create(_supplier, n)
+			.seed(_seed)
+			.chunkSize(_chunkSize)
+			.ordered();
+
+		Object[] items = _pool.submit(() -> source.parallelStream().toArray()).join();
+
+		return (List<T>) Arrays.asList(items);
+	}
+
+}
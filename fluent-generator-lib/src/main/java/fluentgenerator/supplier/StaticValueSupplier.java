@@ -1,8 +1,15 @@
 package fluentgenerator.supplier;
 
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
+ * Always supplies the same value.
+ * <p>
+ * Primitive values are boxed once, when supplier is created. Suppliers of primitive values also implement matching
+ * primitive supplier interface, so they can be read without unboxing.
  *
  * @author pkorus
  */
@@ -19,12 +26,16 @@ public class StaticValueSupplier<T> implements Supplier<T> {
 		return _value;
 	}
 
-	public static StaticValueSupplier<Integer> build(int v) {
-		return new StaticValueSupplier<>(v);
+	public static OfInt build(int v) {
+		return new OfInt(v);
 	}
 	
-	public static StaticValueSupplier<Long> build(long v) {
-		return new StaticValueSupplier<>(v);
+	public static OfLong build(long v) {
+		return new OfLong(v);
+	}
+
+	public static OfDouble build(double v) {
+		return new OfDouble(v);
 	}
 	
 	public static StaticValueSupplier<String> build(String v) {
@@ -34,4 +45,46 @@ public class StaticValueSupplier<T> implements Supplier<T> {
 	public static StaticValueSupplier<Object> build(Object v) {
 		return new StaticValueSupplier<>(v);
 	}
+
+	public static class OfInt extends StaticValueSupplier<Integer> implements IntSupplier {
+		private final int _primitive;
+
+		private OfInt(int value) {
+			super(value);
+			_primitive = value;
+		}
+
+		@Override
+		public int getAsInt() {
+			return _primitive;
+		}
+	}
+
+	public static class OfLong extends StaticValueSupplier<Long> implements LongSupplier {
+		private final long _primitive;
+
+		private OfLong(long value) {
+			super(value);
+			_primitive = value;
+		}
+
+		@Override
+		public long getAsLong() {
+			return _primitive;
+		}
+	}
+
+	public static class OfDouble extends StaticValueSupplier<Double> implements DoubleSupplier {
+		private final double _primitive;
+
+		private OfDouble(double value) {
+			super(value);
+			_primitive = value;
+		}
+
+		@Override
+		public double getAsDouble() {
+			return _primitive;
+		}
+	}
 }
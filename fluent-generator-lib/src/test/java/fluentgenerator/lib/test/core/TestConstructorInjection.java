@@ -0,0 +1,150 @@
+package fluentgenerator.lib.test.core;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.test.util.Utils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.beans.ConstructorProperties;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class TestConstructorInjection {
+
+	private final GeneratorFactory genFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> factories() {
+		return Utils.generatorFactories();
+	}
+
+	public TestConstructorInjection(String factoryName, GeneratorFactory genFactory) {
+		this.genFactory = genFactory;
+	}
+
+	private PointGenerator gen;
+
+	public static class Point {
+		private final String name;
+		private final int x;
+		private final int y;
+		private String label;
+
+		@ConstructorProperties({"name", "x", "y"})
+		public Point(String name, int x, int y) {
+			this.name = name;
+			this.x = x;
+			this.y = y;
+		}
+
+		public Point(String name) {
+			this(name, 0, 0);
+		}
+
+		public String getName() { return name; }
+		public int getX() { return x; }
+		public int getY() { return y; }
+		public String getLabel() { return label; }
+		public void setLabel(String v) { this.label = v; }
+	}
+
+	public static class Money {
+		private final String currency;
+		private final long amount;
+
+		private Money(String currency, long amount) {
+			this.currency = currency;
+			this.amount = amount;
+		}
+
+		public static Money of(String currency, long amount) {
+			return new Money(currency, amount);
+		}
+
+		public static Money zero() {
+			return new Money("EUR", 0);
+		}
+
+		public String getCurrency() { return currency; }
+		public long getAmount() { return amount; }
+	}
+
+	public interface MoneyGenerator extends Generator<Money> {
+		MoneyGenerator currency(String v);
+		MoneyGenerator amount(long v);
+		Money build();
+	}
+
+	public interface PointGenerator extends Generator<Point> {
+		PointGenerator name(String v);
+		PointGenerator x(Supplier<Integer> v);
+		PointGenerator y(Integer v);
+		PointGenerator label(String v);
+		PointGenerator constructor(Supplier<Object> v);
+		Point build();
+	}
+
+	@Before
+	public void beforeEach() {
+		gen = genFactory.generatorInstance(PointGenerator.class);
+	}
+
+	@Test
+	public void properties_are_passed_to_constructor() {
+		Point p = gen.name("p").x(() -> 3).y(4).build();
+
+		assertThat(p.getName()).isEqualTo("p");
+		assertThat(p.getX()).isEqualTo(3);
+		assertThat(p.getY()).isEqualTo(4);
+	}
+
+	@Test
+	public void properties_are_passed_to_static_factory_method() {
+		Money m = genFactory.generatorInstance(MoneyGenerator.class).currency("PLN").amount(10L).build();
+
+		assertThat(m.getCurrency()).isEqualTo("PLN");
+		assertThat(m.getAmount()).isEqualTo(10L);
+	}
+
+	@Test
+	public void missing_parameters_get_default_values_and_other_properties_use_setters() {
+		Point p = gen.name("p").label("origin").build();
+
+		assertThat(p.getX()).isZero();
+		assertThat(p.getY()).isZero();
+		assertThat(p.getLabel()).isEqualTo("origin");
+	}
+
+	@Test
+	public void constructor_supplier_takes_precedence() {
+		gen.constructor(() -> new Point("supplied"));
+		Point p = gen.label("l").build();
+
+		assertThat(p.getName()).isEqualTo("supplied");
+		assertThat(p.getLabel()).isEqualTo("l");
+	}
+
+	@Test(expected = GeneratorException.class)
+	public void existing_instance_cant_be_filled_in_through_constructor() {
+		gen.name("p").x(() -> 5).buildInto(new Point("target"));
+	}
+
+	@Test
+	public void existing_instance_is_filled_in_if_constructor_supplier_is_configured() {
+		Point target = new Point("target");
+		gen.constructor(() -> new Point("supplied"));
+
+		Point p = gen.label("l").buildInto(target);
+
+		assertThat(p).isSameAs(target);
+		assertThat(p.getLabel()).isEqualTo("l");
+	}
+
+}
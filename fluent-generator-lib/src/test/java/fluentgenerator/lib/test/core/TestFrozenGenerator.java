@@ -0,0 +1,115 @@
+package fluentgenerator.lib.test.core;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(Parameterized.class)
+public class TestFrozenGenerator {
+
+	private final GeneratorFactory genFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> factories() {
+		return Utils.generatorFactories();
+	}
+
+	public TestFrozenGenerator(String factoryName, GeneratorFactory genFactory) {
+		this.genFactory = genFactory;
+	}
+
+	public static class Item {
+		private String name;
+		private int number;
+
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+		public int getNumber() { return number; }
+		public void setNumber(int number) { this.number = number; }
+	}
+
+	public interface ItemGenerator extends Generator<Item> {
+		ItemGenerator name(String v);
+		ItemGenerator number(Supplier<Integer> v);
+		void numberVoid(Supplier<Integer> v);
+		Item build();
+		ItemGenerator freeze();
+	}
+
+	public interface PlainItemGenerator extends Generator<Item> {
+		PlainItemGenerator name(String v);
+		Item build();
+	}
+
+	@Test
+	public void frozen_generator_is_copied_when_modified() {
+		ItemGenerator gen = genFactory.generatorInstance(ItemGenerator.class).name("a").number(() -> 1);
+		ItemGenerator frozen = gen.freeze();
+
+		ItemGenerator modified = frozen.name("b");
+		gen.name("c");
+
+		assertThat(modified).isNotSameAs(frozen);
+		assertThat(frozen.freeze()).isSameAs(frozen);
+		assertThat(frozen.build().getName()).isEqualTo("a");
+		assertThat(modified.build().getName()).isEqualTo("b");
+		assertThat(modified.build().getNumber()).isEqualTo(1);
+		assertThat(gen.build().getName()).isEqualTo("c");
+
+		// copy is not frozen, so it is modified in place
+		assertThat(modified.name("d")).isSameAs(modified);
+	}
+
+	@Test
+	public void void_setter_can_not_modify_frozen_generator() {
+		ItemGenerator frozen = genFactory.generatorInstance(ItemGenerator.class).freeze();
+
+		assertThatThrownBy(() -> frozen.numberVoid(() -> 1)).isInstanceOf(GeneratorException.class);
+	}
+
+	@Test
+	public void freeze_declared_only_by_generator_interface() {
+		PlainItemGenerator gen = genFactory.generatorInstance(PlainItemGenerator.class).name("a");
+
+		Generator<Item> frozen = gen.freeze();
+
+		assertThat(frozen).isInstanceOf(PlainItemGenerator.class);
+		assertThat(((PlainItemGenerator) frozen).name("b").build().getName()).isEqualTo("b");
+		assertThat(frozen.build().getName()).isEqualTo("a");
+	}
+
+	@Test
+	public void frozen_generator_is_shared_by_threads() {
+		AtomicInteger counter = new AtomicInteger();
+		ItemGenerator frozen = genFactory.generatorInstance(ItemGenerator.class)
+			.name("a")
+			.number(counter::incrementAndGet)
+			.freeze();
+
+		Set<Integer> numbers = ConcurrentHashMap.newKeySet();
+		List<Item> items = IntStream.range(0, 10000).parallel()
+			.mapToObj(i -> frozen.build())
+			.peek(item -> numbers.add(item.getNumber()))
+			.collect(Collectors.toList());
+
+		assertThat(items).hasSize(10000);
+		assertThat(numbers).hasSize(10000);
+	}
+
+}
@@ -0,0 +1,74 @@
+package fluentgenerator.lib.test.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import fluentgenerator.lib.core.reflect.GenerationVisitor;
+import fluentgenerator.lib.core.reflect.GenerationVisitorRegistry;
+import fluentgenerator.lib.core.reflect.JsonNodeObjectGenerationVisitor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class TestGenerationVisitorRegistry {
+
+	@Test
+	public void default_registry_is_discovered_once_and_builds_json_nodes() {
+		GenerationVisitorRegistry defaults = GenerationVisitorRegistry.defaults();
+
+		assertThat(GenerationVisitorRegistry.defaults()).isSameAs(defaults);
+		assertThat(defaults.resolve(ObjectNode.class).get()).isInstanceOf(JsonNodeObjectGenerationVisitor.class);
+		assertThat(defaults.resolve(String.class)).isNull();
+	}
+
+	@Test
+	public void most_specific_registered_type_wins() {
+		Supplier<GenerationVisitor> collectionVisitor = () -> mock(GenerationVisitor.class);
+		Supplier<GenerationVisitor> listVisitor = () -> mock(GenerationVisitor.class);
+		GenerationVisitorRegistry registry = GenerationVisitorRegistry.empty()
+			.with(List.class, listVisitor)
+			.with(Collection.class, collectionVisitor);
+
+		assertThat(registry.resolve(ArrayList.class)).isSameAs(listVisitor);
+		assertThat(registry.resolve(ArrayList.class)).isSameAs(listVisitor);
+		assertThat(registry.resolve(Collection.class)).isSameAs(collectionVisitor);
+		assertThat(registry.resolve(Object.class)).isNull();
+	}
+
+	@Test
+	public void registered_last_wins_among_unrelated_types() {
+		Supplier<GenerationVisitor> listVisitor = () -> mock(GenerationVisitor.class);
+		Supplier<GenerationVisitor> randomAccessVisitor = () -> mock(GenerationVisitor.class);
+		Supplier<GenerationVisitor> collectionVisitor = () -> mock(GenerationVisitor.class);
+
+		GenerationVisitorRegistry listFirst = GenerationVisitorRegistry.empty()
+			.with(List.class, listVisitor)
+			.with(RandomAccess.class, randomAccessVisitor)
+			.with(Collection.class, collectionVisitor);
+		GenerationVisitorRegistry randomAccessFirst = GenerationVisitorRegistry.empty()
+			.with(RandomAccess.class, randomAccessVisitor)
+			.with(List.class, listVisitor)
+			.with(Collection.class, collectionVisitor);
+
+		assertThat(listFirst.resolve(ArrayList.class)).isSameAs(randomAccessVisitor);
+		assertThat(randomAccessFirst.resolve(ArrayList.class)).isSameAs(listVisitor);
+	}
+
+	@Test
+	public void registering_visitor_creates_new_registry() {
+		Supplier<GenerationVisitor> visitor = () -> mock(GenerationVisitor.class);
+		GenerationVisitorRegistry defaults = GenerationVisitorRegistry.defaults();
+
+		GenerationVisitorRegistry registry = defaults.with(JsonNode.class, visitor);
+
+		assertThat(registry.resolve(ObjectNode.class)).isSameAs(visitor);
+		assertThat(defaults.resolve(ObjectNode.class)).isNotSameAs(visitor);
+	}
+
+}
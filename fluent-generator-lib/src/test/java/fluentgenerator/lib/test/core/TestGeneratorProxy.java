@@ -2,17 +2,35 @@ package fluentgenerator.lib.test.core;
 
 import fluentgenerator.core.Generator;
 import fluentgenerator.core.GeneratorFactory;
-import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import fluentgenerator.lib.test.util.Utils;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.mockito.InOrder;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+@RunWith(Parameterized.class)
 public class TestGeneratorProxy {
 	
-	private GeneratorFactory genFactory = new ReflectGeneratorProxyFactory();
+	private final GeneratorFactory genFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> factories() {
+		return Utils.generatorFactories();
+	}
+
+	public TestGeneratorProxy(String factoryName, GeneratorFactory genFactory) {
+		this.genFactory = genFactory;
+	}
 		
 	private ModelGenerator gen;
 	
@@ -44,6 +62,7 @@ public class TestGeneratorProxy {
 		ModelGenerator stringValue(String v);
 		ModelGenerator stringValue(Supplier<String> v);
 		ModelGenerator intValue(int v);
+		ModelGenerator intValue(IntSupplier v);
 		ModelGenerator someValue(Supplier<String> v);
 		void valueX(Supplier<String> v);
 		@Override ModelImpl build();
@@ -55,6 +74,10 @@ public class TestGeneratorProxy {
 		default ModelImpl defaultForwardMethod() {
 			return build();
 		}
+
+		default ModelGenerator defaultPreset(String stringValue, int intValue) {
+			return stringValue(stringValue).intValue(intValue);
+		}
 	}
 	
 	@Before
@@ -111,6 +134,16 @@ public class TestGeneratorProxy {
 		verify(supplier, times(invocationsNumber)).get();
 	}
 	
+	@Test
+	public void constructor_returns_generator() {
+		ModelImpl target = new ModelImpl();
+
+		ModelImpl m = gen.constructor(() -> target).stringValue(TEST_VALUE_STRING).build();
+
+		assertThat(m).isSameAs(target);
+		verify(ModelImpl.e).setStringValue(eq(TEST_VALUE_STRING));
+	}
+
 	@Test
 	public void invoke_setter_with_value_provider_no_const_setter_defined() {
 		int invocationsNumber = 2;
@@ -152,6 +185,17 @@ public class TestGeneratorProxy {
 		verify(m.e).setValueX(eq(TEST_VALUE_STRING));
 	}
 
+	@Test
+	public void invoke_default_method_with_arguments_repeatedly() {
+		for (int i = 0; i < 3; i++) {
+			assertThat(gen.defaultPreset(TEST_VALUE_STRING, i)).isSameAs(gen);
+		}
+		gen.build();
+
+		verify(ModelImpl.e).setStringValue(eq(TEST_VALUE_STRING));
+		verify(ModelImpl.e).setIntValue(eq(2));
+	}
+
 	@Test
 	public void modify_property_static_value_then_static_value() {
 		String sampleValue1 = "value1";
@@ -183,6 +227,113 @@ public class TestGeneratorProxy {
 		verify(m2.e).setStringValue(eq(sampleValue2));
 	}
 
+	@Test
+	public void call_suppliers_in_order_properties_were_configured() {
+		Supplier<String> someValue = mock(Supplier.class);
+		Supplier<String> stringValue = mock(Supplier.class);
+		IntSupplier intValue = mock(IntSupplier.class);
+		when(someValue.get()).thenReturn(TEST_VALUE_STRING);
+		when(stringValue.get()).thenReturn(TEST_VALUE_STRING);
+
+		gen.someValue(someValue);
+		gen.stringValue(stringValue);
+		gen.intValue(intValue);
+		// reconfigured property keeps its position
+		gen.someValue(someValue);
+		gen.build();
+		gen.build();
+
+		InOrder inOrder = inOrder(someValue, stringValue, intValue);
+		for (int i = 0; i < 2; i++) {
+			inOrder.verify(someValue).get();
+			inOrder.verify(stringValue).get();
+			inOrder.verify(intValue).getAsInt();
+		}
+	}
+
+	@Test
+	public void generator_instances_are_independent() {
+		ModelGenerator gen1 = genFactory.generatorInstance(ModelGenerator.class);
+		ModelGenerator gen2 = genFactory.generatorInstance(ModelGenerator.class);
+
+		gen1.stringValue("value1");
+		gen2.stringValue("value2");
+		gen1.build();
+
+		verify(ModelImpl.e).setStringValue(eq("value1"));
+		verify(ModelImpl.e, never()).setStringValue(eq("value2"));
+	}
+
+	@Test
+	public void add_property_after_build() {
+		gen.stringValue(TEST_VALUE_STRING);
+		gen.build();
+		gen.intValue(TEST_VALUE_INT);
+		gen.build();
+
+		verify(ModelImpl.e, times(2)).setStringValue(eq(TEST_VALUE_STRING));
+		verify(ModelImpl.e, times(1)).setIntValue(eq(TEST_VALUE_INT));
+	}
+
+	@Test
+	public void invoke_setter_with_primitive_supplier() {
+		int[] counter = {0};
+		gen.intValue(() -> ++counter[0]);
+		gen.build();
+		gen.build();
+
+		verify(ModelImpl.e).setIntValue(eq(1));
+		verify(ModelImpl.e).setIntValue(eq(2));
+	}
+
+	@Test
+	public void build_into_given_instance() {
+		ModelImpl target = new ModelImpl();
+		gen.stringValue(TEST_VALUE_STRING);
+
+		ModelImpl result = gen.buildInto(target);
+
+		assertThat(result).isSameAs(target);
+		verify(ModelImpl.e).setStringValue(eq(TEST_VALUE_STRING));
+	}
+
+	@Test
+	public void build_many() {
+		gen.stringValue(TEST_VALUE_STRING);
+
+		List<ModelImpl> models = gen.buildMany(3);
+
+		assertThat(models).hasSize(3).doesNotContainNull();
+		verify(ModelImpl.e, times(3)).setStringValue(eq(TEST_VALUE_STRING));
+	}
+
+	@Test
+	public void fill_collection() {
+		gen.intValue(TEST_VALUE_INT);
+		List<Object> models = new ArrayList<>();
+		models.add("existing");
+
+		gen.fill(models, 2);
+
+		assertThat(models).hasSize(3);
+		assertThat(models.subList(1, 3)).hasOnlyElementsOfType(ModelImpl.class);
+		verify(ModelImpl.e, times(2)).setIntValue(eq(TEST_VALUE_INT));
+	}
+
+	@Test
+	public void stream_of_given_size() {
+		gen.stringValue(TEST_VALUE_STRING);
+
+		assertThat(gen.stream(4).count()).isEqualTo(4);
+		assertThat(gen.stream().limit(2).count()).isEqualTo(2);
+		verify(ModelImpl.e, times(6)).setStringValue(eq(TEST_VALUE_STRING));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void stream_of_negative_size_is_rejected() {
+		gen.stringValue(TEST_VALUE_STRING).stream(-1);
+	}
+
 	private void invokeTimes(int times, Generator<?> gen) {
 		for(int i = times - 1; i >= 0; i--) {
 			gen.build();
@@ -1,19 +1,38 @@
 package fluentgenerator.lib.test.core;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import fluentgenerator.core.Generator;
 import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.core.reflect.JsonNodeObjectGenerationVisitor;
 import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import fluentgenerator.lib.test.util.Utils;
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
+import java.util.Collection;
 import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@RunWith(Parameterized.class)
 public class TestJacksonGeneratorProxy {
 
-	private GeneratorFactory genFactory = new ReflectGeneratorProxyFactory();
+	private final GeneratorFactory genFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> factories() {
+		return Utils.generatorFactories();
+	}
+
+	public TestJacksonGeneratorProxy(String factoryName, GeneratorFactory genFactory) {
+		this.genFactory = genFactory;
+	}
 
 	private ModelGenerator gen;
 
@@ -107,4 +126,24 @@ public class TestJacksonGeneratorProxy {
 		assertThat(o.get("customClass").get("testString").asText()).isEqualTo(testString);
 		assertThat(o.get("customClass").get("testInt").asInt()).isEqualTo(testInt);
 	}
+
+	@Test(expected = GeneratorException.class)
+	public void existing_node_cant_be_filled_in() {
+		gen.stringField(testString).buildInto(JsonNodeFactory.instance.objectNode());
+	}
+
+	@Test
+	public void custom_object_mapper() {
+		ObjectMapper mapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE);
+		ModelGenerator customGen = new ReflectGeneratorProxyFactory()
+			.visitor(JsonNode.class, JsonNodeObjectGenerationVisitor.factory(mapper))
+			.generatorInstance(ModelGenerator.class);
+
+		CustomTestClass testObject = new CustomTestClass();
+		testObject.setTestInt(testInt);
+
+		JsonNode o = customGen.customClass(testObject).build();
+
+		assertThat(o.get("customClass").get("test_int").asInt()).isEqualTo(testInt);
+	}
 }
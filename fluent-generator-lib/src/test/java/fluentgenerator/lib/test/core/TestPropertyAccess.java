@@ -0,0 +1,86 @@
+package fluentgenerator.lib.test.core;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.core.GeneratorFactory;
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.test.util.Utils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(Parameterized.class)
+public class TestPropertyAccess {
+
+	private final GeneratorFactory genFactory;
+
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> factories() {
+		return Utils.generatorFactories();
+	}
+
+	public TestPropertyAccess(String factoryName, GeneratorFactory genFactory) {
+		this.genFactory = genFactory;
+	}
+
+	public static class FieldDto {
+		public String name;
+		private int count;
+		protected final String constant = "c";
+
+		public int count() { return count; }
+	}
+
+	public static class FluentDto {
+		private String name;
+		private long id;
+
+		public String name() { return name; }
+		public FluentDto name(String v) { this.name = v; return this; }
+		public long id() { return id; }
+		public FluentDto id(long v) { this.id = v; return this; }
+	}
+
+	public interface FieldDtoGenerator extends Generator<FieldDto> {
+		FieldDtoGenerator name(Supplier<String> v);
+		FieldDtoGenerator count(int v);
+		FieldDtoGenerator constant(String v);
+		FieldDto build();
+	}
+
+	public interface FluentDtoGenerator extends Generator<FluentDto> {
+		FluentDtoGenerator name(String v);
+		FluentDtoGenerator id(long v);
+		FluentDto build();
+	}
+
+	@Test
+	public void writes_fields_of_model_without_setters() {
+		FieldDto dto = genFactory.generatorInstance(FieldDtoGenerator.class)
+			.name(() -> "field").count(3)
+			.build();
+
+		assertThat(dto.name).isEqualTo("field");
+		assertThat(dto.count()).isEqualTo(3);
+	}
+
+	@Test
+	public void calls_fluent_accessors() {
+		FluentDto dto = genFactory.generatorInstance(FluentDtoGenerator.class)
+			.name("fluent").id(7L)
+			.build();
+
+		assertThat(dto.name()).isEqualTo("fluent");
+		assertThat(dto.id()).isEqualTo(7L);
+	}
+
+	@Test(expected = GeneratorException.class)
+	public void final_fields_are_not_written() {
+		genFactory.generatorInstance(FieldDtoGenerator.class).constant("x").build();
+	}
+
+}
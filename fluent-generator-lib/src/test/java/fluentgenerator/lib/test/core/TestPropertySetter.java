@@ -0,0 +1,98 @@
+package fluentgenerator.lib.test.core;
+
+import fluentgenerator.lib.core.GeneratorException;
+import fluentgenerator.lib.core.reflect.Property;
+import fluentgenerator.lib.core.reflect.PropertySetter;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TestPropertySetter {
+
+	public static class Bean {
+		private int count;
+		private String name;
+
+		public int getCount() { return count; }
+		public void setCount(int v) { this.count = v; }
+		public String getName() { return name; }
+		public void setName(String v) { this.name = v; }
+	}
+
+	public static class FailingBean {
+		public void setCount(int v) { throw new IllegalStateException("count is read-only"); }
+		public void setName(String v) { throw new NullPointerException("name is missing"); }
+		public void setDepth(int v) { throw new StackOverflowError(); }
+	}
+
+	public static class WaitBean {
+		public long wait;
+	}
+
+	private interface BeanGenerator {}
+
+	@Test
+	public void sets_boxed_and_primitive_values() {
+		PropertySetter count = PropertySetter.resolve(Bean.class, BeanGenerator.class, Property.build("count", int.class));
+		Bean bean = new Bean();
+
+		count.set(bean, 3);
+		assertThat(bean.getCount()).isEqualTo(3);
+
+		count.setInt(bean, 4);
+		assertThat(bean.getCount()).isEqualTo(4);
+	}
+
+	@Test
+	public void methods_of_object_are_not_bound() {
+		PropertySetter wait = PropertySetter.resolve(WaitBean.class, BeanGenerator.class,
+			Property.build("wait", long.class));
+		WaitBean bean = new WaitBean();
+
+		wait.set(bean, 5L);
+		assertThat(bean.wait).isEqualTo(5L);
+
+		wait.setLong(bean, 6L);
+		assertThat(bean.wait).isEqualTo(6L);
+	}
+
+	@Test
+	public void invalid_argument_is_reported() {
+		PropertySetter name = PropertySetter.resolve(Bean.class, BeanGenerator.class, Property.build("name", String.class));
+		PropertySetter count = PropertySetter.resolve(Bean.class, BeanGenerator.class, Property.build("count", int.class));
+
+		assertThatThrownBy(() -> name.set(new Bean(), 5))
+			.isInstanceOf(GeneratorException.class).hasMessageContaining("Invalid argument");
+		assertThatThrownBy(() -> count.set(new Bean(), null))
+			.isInstanceOf(GeneratorException.class).hasMessageContaining("Invalid argument");
+	}
+
+	@Test
+	public void exception_thrown_by_setter_is_not_reported_as_invalid_argument() {
+		PropertySetter name = PropertySetter.resolve(FailingBean.class, BeanGenerator.class,
+			Property.build("name", String.class));
+
+		assertThatThrownBy(() -> name.set(new FailingBean(), "value"))
+			.isInstanceOf(GeneratorException.class)
+			.hasMessageContaining("on instance of class")
+			.hasCauseInstanceOf(NullPointerException.class);
+	}
+
+	@Test(expected = StackOverflowError.class)
+	public void error_thrown_by_setter_is_not_wrapped() {
+		PropertySetter depth = PropertySetter.resolve(FailingBean.class, BeanGenerator.class,
+			Property.build("depth", int.class));
+
+		depth.setInt(new FailingBean(), 1);
+	}
+
+	@Test(expected = GeneratorException.class)
+	public void failing_primitive_setter_is_reported() {
+		PropertySetter count = PropertySetter.resolve(FailingBean.class, BeanGenerator.class,
+			Property.build("count", int.class));
+
+		count.setInt(new FailingBean(), 1);
+	}
+
+}
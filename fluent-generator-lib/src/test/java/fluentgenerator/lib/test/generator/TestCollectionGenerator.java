@@ -4,8 +4,15 @@ import static org.mockito.Mockito.*;
 import static org.junit.Assert.*;
 
 import fluentgenerator.lib.generator.CollectionGenerator;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
@@ -58,6 +65,51 @@ public class TestCollectionGenerator {
 		assertArrayEquals(objects, col.toArray());
 	}
 	
+	@Test
+	public void randomized_collection_has_all_elements_shuffled() {
+		CollectionGenerator<String> strings = CollectionGenerator.<String>create()
+			.add(() -> "a", 500)
+			.add(() -> "b", 300)
+			.add(() -> "c", 200)
+			.randomize();
+		
+		List<String> col = new ArrayList<>(strings.build());
+		
+		assertEquals(1000, col.size());
+		assertEquals(500, Collections.frequency(col, "a"));
+		assertEquals(300, Collections.frequency(col, "b"));
+		assertEquals(200, Collections.frequency(col, "c"));
+		assertNotEquals(500, Collections.frequency(col.subList(0, 500), "a"));
+		assertEquals(col, strings.build());
+		assertEquals(col, strings.streamElements().collect(Collectors.toList()));
+	}
+	
+	@Test
+	public void randomized_order_is_a_permutation_of_positions() {
+		CollectionGenerator<Integer> positions = CollectionGenerator.create();
+		for(int i = 0; i < 1234; i++) {
+			int position = i;
+			positions.add(() -> position);
+		}
+		positions.randomize();
+		
+		Set<Integer> seen = new HashSet<>(positions.build());
+		
+		assertEquals(1234, seen.size());
+		assertNotEquals(new ArrayList<>(positions.build()), new ArrayList<>(new TreeSet<>(seen)));
+	}
+	
+	@Test
+	public void large_collection_plan_is_compact() {
+		CollectionGenerator<String> strings = CollectionGenerator.<String>create()
+			.add(() -> "a", 10_000_000)
+			.add(() -> "b", 10_000_000)
+			.randomize();
+		
+		assertEquals(20_000_000L, strings.size());
+		assertEquals(1000, strings.streamElements().limit(1000).count());
+	}
+	
 	private class ObjectArrayAnswer implements Answer<Object> {
 
 		private final Object[] _objects;
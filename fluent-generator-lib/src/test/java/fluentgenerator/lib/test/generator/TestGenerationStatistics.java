@@ -0,0 +1,115 @@
+package fluentgenerator.lib.test.generator;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.lib.core.bytecode.BytecodeGeneratorFactory;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import fluentgenerator.lib.generator.GenerationStatistics;
+import org.junit.Test;
+
+import java.beans.ConstructorProperties;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestGenerationStatistics {
+
+	public static class Item {
+		private int value;
+		private String name;
+
+		public int getValue() { return value; }
+		public void setValue(Integer v) { this.value = v; }
+		public String getName() { return name; }
+		public void setName(String name) { this.name = name; }
+	}
+
+	public interface ItemGenerator extends Generator<Item> {
+		ItemGenerator value(Supplier<Integer> v);
+		ItemGenerator name(String name);
+		Item build();
+	}
+
+	public static class SlowValue {
+		private final int value;
+
+		@ConstructorProperties({"value"})
+		public SlowValue(int value) {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			this.value = value;
+		}
+
+		public int getValue() { return value; }
+	}
+
+	public interface SlowValueGenerator extends Generator<SlowValue> {
+		SlowValueGenerator value(int v);
+		SlowValue build();
+	}
+
+	@Test
+	public void every_building_step_is_timed() {
+		GenerationStatistics statistics = new GenerationStatistics();
+		ItemGenerator gen = new ReflectGeneratorProxyFactory().listener(statistics)
+			.generatorInstance(ItemGenerator.class)
+			.value(() -> 1)
+			.name("item");
+
+		gen.buildMany(10);
+		gen.build();
+
+		Map<String, GenerationStatistics.Timer> timers = statistics.timers();
+		String type = Item.class.getName();
+		assertThat(timers).containsOnlyKeys(
+			type + "#constructor", type + "#finishObject", type + ".value", type + ".name");
+		assertThat(timers.values()).extracting(GenerationStatistics.Timer::count).containsOnly(11L);
+		assertThat(timers.get(type + ".value").percentileNanos(100))
+			.isGreaterThanOrEqualTo(timers.get(type + ".value").percentileNanos(50));
+		assertThat(statistics.toString()).contains(type + ".name: count=11");
+	}
+
+	@Test
+	public void constructor_with_properties_is_timed_in_finish_object() {
+		GenerationStatistics statistics = new GenerationStatistics();
+		SlowValueGenerator gen = new ReflectGeneratorProxyFactory().listener(statistics)
+			.generatorInstance(SlowValueGenerator.class)
+			.value(3);
+
+		assertThat(gen.buildMany(3)).extracting(SlowValue::getValue).containsOnly(3);
+
+		Map<String, GenerationStatistics.Timer> timers = statistics.timers();
+		String type = SlowValue.class.getName();
+		assertThat(timers).containsOnlyKeys(type + "#constructor", type + "#finishObject", type + ".value");
+		assertThat(timers.values()).extracting(GenerationStatistics.Timer::count).containsOnly(3L);
+		assertThat(timers.get(type + "#finishObject").meanNanos()).isGreaterThanOrEqualTo(1000000);
+	}
+
+	@Test
+	public void bytecode_generators_are_timed() {
+		GenerationStatistics statistics = new GenerationStatistics();
+		ItemGenerator gen = new BytecodeGeneratorFactory().listener(statistics)
+			.generatorInstance(ItemGenerator.class)
+			.value(() -> 1);
+
+		gen.buildMany(5);
+
+		assertThat(statistics.timers().get(Item.class.getName() + ".value").count()).isEqualTo(5);
+	}
+
+	@Test
+	public void generators_created_without_listener_are_not_timed() {
+		GenerationStatistics statistics = new GenerationStatistics();
+		ReflectGeneratorProxyFactory factory = new ReflectGeneratorProxyFactory();
+		ItemGenerator gen = factory.generatorInstance(ItemGenerator.class).value(() -> 1);
+		factory.listener(statistics);
+
+		gen.buildMany(5);
+
+		assertThat(statistics.timers()).isEmpty();
+	}
+
+}
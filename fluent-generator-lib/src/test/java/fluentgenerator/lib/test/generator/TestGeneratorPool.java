@@ -0,0 +1,57 @@
+package fluentgenerator.lib.test.generator;
+
+import fluentgenerator.core.Generator;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import fluentgenerator.lib.generator.GeneratorPool;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestGeneratorPool {
+
+	public static class Item {
+		private int value;
+
+		public int getValue() { return value; }
+		public void setValue(Integer v) { this.value = v; }
+	}
+
+	public interface ItemGenerator extends Generator<Item> {
+		ItemGenerator value(Supplier<Integer> v);
+		Item build();
+	}
+
+	private final AtomicInteger counter = new AtomicInteger();
+	private final ItemGenerator gen = new ReflectGeneratorProxyFactory().generatorInstance(ItemGenerator.class)
+		.value(counter::incrementAndGet);
+
+	@Test
+	public void released_instance_is_reused_with_new_values() {
+		GeneratorPool<Item> pool = GeneratorPool.create(gen, 2);
+
+		Item first = pool.acquire();
+		pool.release(first);
+		Item second = pool.acquire();
+
+		assertThat(second).isSameAs(first);
+		assertThat(second.getValue()).isEqualTo(2);
+	}
+
+	@Test
+	public void pool_keeps_at_most_capacity_instances() {
+		GeneratorPool<Item> pool = GeneratorPool.create(gen, 1);
+
+		Item first = pool.acquire();
+		Item second = pool.acquire();
+		pool.release(first);
+		pool.release(second);
+
+		assertThat(pool.available()).isEqualTo(1);
+		assertThat(pool.acquire()).isSameAs(first);
+		assertThat(pool.acquire()).isNotSameAs(second);
+	}
+
+}
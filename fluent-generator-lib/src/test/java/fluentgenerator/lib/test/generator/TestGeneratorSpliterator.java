@@ -0,0 +1,71 @@
+package fluentgenerator.lib.test.generator;
+
+import fluentgenerator.core.RandomSource;
+import fluentgenerator.lib.generator.GeneratorSpliterator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestGeneratorSpliterator {
+
+	private final Supplier<Integer> randomInt = () -> RandomSource.nextInt(1000000);
+
+	@Test
+	public void objects_are_created_lazily() {
+		AtomicInteger created = new AtomicInteger();
+
+		List<Integer> firstThree = GeneratorSpliterator.create(created::incrementAndGet, Long.MAX_VALUE).stream()
+			.limit(3)
+			.collect(Collectors.toList());
+
+		assertThat(firstThree).containsExactly(1, 2, 3);
+		assertThat(created.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void is_sized_and_ordered_only_on_request() {
+		Spliterator<Integer> unordered = GeneratorSpliterator.create(randomInt, 100);
+		Spliterator<Integer> ordered = GeneratorSpliterator.create(randomInt, 100).ordered();
+
+		assertThat(unordered.getExactSizeIfKnown()).isEqualTo(100);
+		assertThat(unordered.hasCharacteristics(Spliterator.ORDERED)).isFalse();
+		assertThat(ordered.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+	}
+
+	@Test
+	public void split_covers_all_objects() {
+		Spliterator<Integer> suffix = GeneratorSpliterator.create(randomInt, 101);
+		Spliterator<Integer> prefix = suffix.trySplit();
+
+		assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(101);
+		assertThat(GeneratorSpliterator.create(randomInt, 10000).parallelStream().count()).isEqualTo(10000);
+	}
+
+	@Test
+	public void seeded_objects_do_not_depend_on_splitting() {
+		List<Integer> sequential = GeneratorSpliterator.create(randomInt, 1000).seed(7).chunkSize(16)
+			.stream().collect(Collectors.toList());
+		List<Integer> parallel = GeneratorSpliterator.create(randomInt, 1000).seed(7).chunkSize(16).ordered()
+			.parallelStream().collect(Collectors.toList());
+
+		List<Integer> oneByOne = new ArrayList<>();
+		GeneratorSpliterator<Integer> spliterator = GeneratorSpliterator.create(randomInt, 1000).seed(7).chunkSize(16);
+		for (int i = 0; i < 20; i++) {
+			spliterator.tryAdvance(oneByOne::add);
+		}
+		Spliterator<Integer> prefix = spliterator.trySplit();
+		prefix.forEachRemaining(oneByOne::add);
+		spliterator.forEachRemaining(oneByOne::add);
+
+		assertThat(parallel).isEqualTo(sequential);
+		assertThat(oneByOne).isEqualTo(sequential);
+	}
+
+}
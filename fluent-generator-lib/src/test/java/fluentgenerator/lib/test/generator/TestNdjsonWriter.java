@@ -0,0 +1,73 @@
+package fluentgenerator.lib.test.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fluentgenerator.core.Generator;
+import fluentgenerator.lib.core.bytecode.BytecodeGeneratorFactory;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+import fluentgenerator.lib.generator.NdjsonWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestNdjsonWriter {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	public interface NodeGenerator extends Generator<JsonNode> {
+		NodeGenerator name(String v);
+		NodeGenerator index(Supplier<Integer> v);
+		JsonNode build();
+	}
+
+	@Test
+	public void writes_object_per_line() throws IOException {
+		AtomicInteger index = new AtomicInteger();
+		NodeGenerator gen = new ReflectGeneratorProxyFactory().generatorInstance(NodeGenerator.class)
+			.name("test").index(index::incrementAndGet);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (NdjsonWriter writer = NdjsonWriter.create(out)) {
+			writer.write(gen, 3);
+		}
+
+		String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(3);
+		for (int i = 0; i < lines.length; i++) {
+			JsonNode node = mapper.readTree(lines[i]);
+			assertThat(node.get("name").asText()).isEqualTo("test");
+			assertThat(node.get("index").asInt()).isEqualTo(i + 1);
+		}
+	}
+
+	@Test
+	public void writes_generated_class_and_plain_supplier_to_file() throws IOException {
+		NodeGenerator gen = new BytecodeGeneratorFactory().generatorInstance(NodeGenerator.class).name("generated");
+		Supplier<List<Integer>> plain = () -> Collections.singletonList(7);
+
+		Path file = Files.createTempFile("fluent-generator", ".ndjson");
+		try {
+			try (NdjsonWriter writer = NdjsonWriter.create(file)) {
+				writer.write(gen).write(plain);
+			}
+
+			List<String> lines = Files.readAllLines(file);
+			assertThat(lines).hasSize(2);
+			assertThat(mapper.readTree(lines.get(0)).get("name").asText()).isEqualTo("generated");
+			assertThat(mapper.readTree(lines.get(1)).get(0).asInt()).isEqualTo(7);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package fluentgenerator.lib.test.generator;
+
+import fluentgenerator.core.RandomSource;
+import fluentgenerator.lib.generator.ParallelGenerator;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestParallelGenerator {
+
+	private final Supplier<Integer> randomInt = () -> RandomSource.nextInt(1000000);
+
+	@Test
+	public void builds_requested_number_of_objects() {
+		List<Integer> items = ParallelGenerator.create(randomInt).chunkSize(7).buildMany(100);
+
+		assertThat(items).hasSize(100).doesNotContainNull();
+	}
+
+	@Test
+	public void same_seed_gives_same_objects_regardless_of_parallelism() {
+		ForkJoinPool singleThread = new ForkJoinPool(1);
+		ForkJoinPool fourThreads = new ForkJoinPool(4);
+		try {
+			List<Integer> sequential = ParallelGenerator.create(randomInt).seed(42).chunkSize(16)
+				.pool(singleThread).buildMany(1000);
+			List<Integer> parallel = ParallelGenerator.create(randomInt).seed(42).chunkSize(16)
+				.pool(fourThreads).buildMany(1000);
+
+			assertThat(parallel).isEqualTo(sequential);
+		} finally {
+			singleThread.shutdown();
+			fourThreads.shutdown();
+		}
+	}
+
+	@Test
+	public void different_seeds_give_different_objects() {
+		List<Integer> first = ParallelGenerator.create(randomInt).seed(1).buildMany(100);
+		List<Integer> second = ParallelGenerator.create(randomInt).seed(2).buildMany(100);
+
+		assertThat(first).isNotEqualTo(second);
+	}
+
+}
@@ -1,5 +1,11 @@
 package fluentgenerator.lib.test.util;
 
+import fluentgenerator.lib.core.bytecode.BytecodeGeneratorFactory;
+import fluentgenerator.lib.core.reflect.ReflectGeneratorProxyFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+
 /**
  *
  * @author pkorus
@@ -22,4 +28,13 @@ public abstract class Utils {
 	public static Repeater repeat(Runnable r) {
 		return new Repeater(r);
 	}
+
+	/**
+	 * @return parameters of tests run against every generator factory: factory name and factory
+	 */
+	public static Collection<Object[]> generatorFactories() {
+		return Arrays.asList(
+			new Object[]{"proxy", new ReflectGeneratorProxyFactory()},
+			new Object[]{"bytecode", new BytecodeGeneratorFactory()});
+	}
 }
@@ -61,13 +61,20 @@ public class AnnotationDrivenInterfaceGenerator extends AbstractProcessor {
 			.map(v -> v.get())
 			.forEach(context.methods::add);
 
+		writeSource(context.packageName + "." + context.generatorName, "GeneratorInterface.mustache", context);
+
+		if(element.getAnnotation(FluentGenerator.class).implementation()) {
+			writeSource(context.packageName + "." + context.generatorName + "Impl", "GeneratorImpl.mustache", context);
+		}
+	}
+
+	private void writeSource(String qualifiedName, String templateName, Context context) {
 		try {
-			final JavaFileObject javaFile = processingEnv.getFiler()
-				.createSourceFile(context.packageName + "." + context.generatorName);
+			final JavaFileObject javaFile = processingEnv.getFiler().createSourceFile(qualifiedName);
 			final Writer fileWriter = javaFile.openWriter();
 
 			MustacheFactory mf = new DefaultMustacheFactory();
-			Mustache mustache = mf.compile("GeneratorInterface.mustache");
+			Mustache mustache = mf.compile(templateName);
 			mustache.execute(fileWriter, context).flush();
 
 			fileWriter.close();
@@ -98,6 +105,7 @@ public class AnnotationDrivenInterfaceGenerator extends AbstractProcessor {
 
 		Method m = new Method();
 		m.methodName = generatorMethodName;
+		m.setterName = methodName;
 		m.argumentType = generatorArgumentType;
 		return Optional.of(m);
 	}
@@ -115,6 +123,7 @@ public class AnnotationDrivenInterfaceGenerator extends AbstractProcessor {
 
 	private static class Method {
 		String methodName = "";
+		String setterName = "";
 		String argumentType = "";
 	}
 }
@@ -21,4 +21,17 @@ public class AnnotationDrivenInterfaceGeneratorTest {
 			.generatesSources(JavaFileObjects.forResource("BasicGenerator.java"));
 	}
 
+	@Test
+	public void testBeanWithImplementation() {
+		Truth.assertAbout(javaSources())
+			.that(Arrays.asList(
+				JavaFileObjects.forResource("Implemented.java")))
+			.processedWith(new AnnotationDrivenInterfaceGenerator())
+			.compilesWithoutError()
+			.and()
+			.generatesSources(
+				JavaFileObjects.forResource("ImplementedGenerator.java"),
+				JavaFileObjects.forResource("ImplementedGeneratorImpl.java"));
+	}
+
 }
@@ -0,0 +1,25 @@
+package model;
+
+import fluentgenerator.annotation.FluentGenerator;
+
+@FluentGenerator(implementation = true)
+public class Implemented {
+	private String name;
+	private int age;
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+}
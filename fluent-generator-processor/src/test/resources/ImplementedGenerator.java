@@ -0,0 +1,14 @@
+package model;
+
+import fluentgenerator.core.Generator;
+
+import java.util.function.Supplier;
+
+public interface ImplementedGenerator extends Generator<Implemented> {
+
+	ImplementedGenerator name(Supplier<java.lang.String> supplier);
+	ImplementedGenerator age(Supplier<Integer> supplier);
+
+	Implemented build();
+
+}
@@ -0,0 +1,42 @@
+package model;
+
+import java.util.function.Supplier;
+
+public class ImplementedGeneratorImpl implements ImplementedGenerator {
+
+	private Supplier<java.lang.String> name;
+	private Supplier<Integer> age;
+
+	public static ImplementedGenerator create() {
+		return new ImplementedGeneratorImpl();
+	}
+
+	@Override
+	public ImplementedGenerator name(Supplier<java.lang.String> supplier) {
+		this.name = supplier;
+		return this;
+	}
+
+	@Override
+	public ImplementedGenerator age(Supplier<Integer> supplier) {
+		this.age = supplier;
+		return this;
+	}
+
+	@Override
+	public Implemented build() {
+		return buildInto(new Implemented());
+	}
+
+	@Override
+	public Implemented buildInto(Implemented target) {
+		if (this.name != null) {
+			target.setName(this.name.get());
+		}
+		if (this.age != null) {
+			target.setAge(this.age.get());
+		}
+		return target;
+	}
+
+}
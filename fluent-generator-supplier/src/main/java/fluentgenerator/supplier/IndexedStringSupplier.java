@@ -1,31 +1,112 @@
 package fluentgenerator.supplier;
 
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
+ * Supplies strings made of prefix and consecutive index.
+ * <p>
+ * Supplier is thread-safe and never returns the same index twice. By default every call takes next index from shared
+ * counter, so indexes are returned in order. When {@link #blockSize(int)} is greater than one, every thread reserves
+ * whole block of indexes at once and returns them one by one, which avoids contention on shared counter when many
+ * threads use the same supplier. Indexes are then unique, but not ordered across threads.
+ * <p>
+ * Supplier should be configured before it is used.
  *
  * @author pkorus
  */
 public class IndexedStringSupplier implements Supplier<String> {
 
-	private int _currentIndex = 1;
+	private static final int MAX_DIGITS = 20;
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+	private final AtomicLong _nextIndex = new AtomicLong(1);
+	private final ThreadLocal<Block> _block = ThreadLocal.withInitial(Block::new);
+	private int _blockSize = 1;
 	private String _prefix = "";
-	
+
 	public IndexedStringSupplier() {}
-	
+
 	public IndexedStringSupplier startFrom(int v) {
-		_currentIndex = v;
+		return startFrom((long) v);
+	}
+
+	public IndexedStringSupplier startFrom(long v) {
+		_nextIndex.set(v);
 		return this;
 	}
-	
+
 	public IndexedStringSupplier prefix(String prefix) {
 		_prefix = prefix;
 		return this;
 	}
-	
+
+	/**
+	 * @param blockSize number of indexes reserved by thread at once
+	 * @return this supplier
+	 */
+	public IndexedStringSupplier blockSize(int blockSize) {
+		assert blockSize > 0 : "blockSize should be > 0, but " + blockSize + " was passed";
+		_blockSize = blockSize;
+		return this;
+	}
+
 	@Override
 	public String get() {
-		return _prefix + _currentIndex++;
+		long index = nextIndex();
+		if(index < 0) {
+			return _prefix + index;
+		}
+
+		char[] buffer = buffer(_prefix.length() + MAX_DIGITS);
+		int end = buffer.length;
+		int start = end;
+		do {
+			buffer[--start] = (char) ('0' + index % 10);
+			index /= 10;
+		} while(index != 0);
+
+		start -= _prefix.length();
+		_prefix.getChars(0, _prefix.length(), buffer, start);
+		return new String(buffer, start, end - start);
+	}
+
+	/**
+	 * Appends next indexed string to given sink.
+	 *
+	 * @param sink builder to append to
+	 * @return given sink
+	 */
+	public StringBuilder appendTo(StringBuilder sink) {
+		return sink.append(_prefix).append(nextIndex());
+	}
+
+	private long nextIndex() {
+		if(_blockSize == 1) {
+			return _nextIndex.getAndIncrement();
+		}
+
+		Block block = _block.get();
+		if(block.next == block.end) {
+			block.next = _nextIndex.getAndAdd(_blockSize);
+			block.end = block.next + _blockSize;
+		}
+		return block.next++;
+	}
+
+	private static char[] buffer(int size) {
+		char[] buffer = BUFFER.get();
+		if(buffer.length < size) {
+			buffer = new char[size];
+			BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	private static class Block {
+		long next;
+		long end;
 	}
 
 }
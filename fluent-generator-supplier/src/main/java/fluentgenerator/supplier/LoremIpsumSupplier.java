@@ -1,7 +1,9 @@
 package fluentgenerator.supplier;
 
 import de.svenjacobs.loremipsum.LoremIpsum;
-import java.util.concurrent.ThreadLocalRandom;
+import fluentgenerator.core.RandomSource;
+
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 
 /**
@@ -11,7 +13,7 @@ import java.util.function.Supplier;
 public class LoremIpsumSupplier implements Supplier<String> {
 	
 	private final LoremIpsum _loremIpsum = new LoremIpsum();
-	private Supplier<Integer> _numberOfWords;
+	private IntSupplier _numberOfWords;
 
 	public LoremIpsumSupplier() {
 		_numberOfWords = () -> 10;
@@ -22,16 +24,18 @@ public class LoremIpsumSupplier implements Supplier<String> {
 		return this;
 	}
 	
+	public LoremIpsumSupplier numberOfWords(IntSupplier numberOfWords) {
+		_numberOfWords = numberOfWords;
+		return this;
+	}
+
 	public LoremIpsumSupplier randomNumberOfWords(int min, int max) {
-		_numberOfWords = () -> {
-			ThreadLocalRandom random = ThreadLocalRandom.current();
-			return random.nextInt(min, max + 1);
-		};
+		_numberOfWords = () -> RandomSource.nextInt(min, max + 1);
 		return this;
 	}
 	
 	@Override
 	public String get() {
-		return _loremIpsum.getWords(_numberOfWords.get());
+		return _loremIpsum.getWords(_numberOfWords.getAsInt());
 	}
 }
@@ -1,82 +1,181 @@
 package fluentgenerator.supplier;
 
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.function.IntFunction;
+import fluentgenerator.core.RandomSource;
+
+import java.util.Random;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
-import org.apache.commons.lang3.RandomStringUtils;
 
 /**
+ * Supplies random strings made of prefix, random body and suffix.
+ * <p>
+ * Whole string is assembled in reusable, thread-local buffer. Characters of body are picked from precomputed
+ * alphabet table, several characters out of every random {@code long}, so creating string takes single allocation.
+ * {@link #appendTo(StringBuilder)} and {@link #writeTo(byte[], int)} don't allocate at all.
  *
  * @author pkorus
  */
 public class RandomStringSupplier implements Supplier<String> {
 
-	private final Supplier<Integer> _stringLength;
-	private final IntFunction<String> _stringGenerator;
+	private static final char[] NUMERIC = "0123456789".toCharArray();
+	private static final char[] ALPHABETIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+	private static final char[] ALPHANUMERIC =
+		"0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+	private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+	private final IntSupplier _stringLength;
+	private final char[] _alphabet;
+	private final int _bitsPerChar;
+	private final int _mask;
 	private final String _prefix;
 	private final String _suffix;
-	
+
 	private RandomStringSupplier(
-		Supplier<Integer> stringLength,
-		IntFunction<String> stringGenerator,
+		IntSupplier stringLength,
+		char[] alphabet,
 		String prefix,
 		String suffix
 	) {
 		_stringLength = stringLength;
-		_stringGenerator = stringGenerator;
+		_alphabet = alphabet;
+		_bitsPerChar = Math.max(1, 32 - Integer.numberOfLeadingZeros(alphabet.length - 1));
+		_mask = (1 << _bitsPerChar) - 1;
 		_prefix = prefix;
 		_suffix = suffix;
 	}
-	
+
 	@Override
 	public String get() {
-		int length = _stringLength.get();
+		int length = _stringLength.getAsInt();
 		if(length == 0) return "";
-		StringBuilder b = new StringBuilder();
-		return b.append(_prefix).append(_stringGenerator.apply(length))
-			.append(_suffix).toString();
+
+		char[] buffer = buffer(_prefix.length() + length + _suffix.length());
+		int size = fill(buffer, length);
+		return new String(buffer, 0, size);
+	}
+
+	/**
+	 * Appends new random string to given sink.
+	 *
+	 * @param sink builder to append to
+	 * @return given sink
+	 */
+	public StringBuilder appendTo(StringBuilder sink) {
+		int length = _stringLength.getAsInt();
+		if(length == 0) return sink;
+
+		char[] buffer = buffer(_prefix.length() + length + _suffix.length());
+		int size = fill(buffer, length);
+		return sink.append(buffer, 0, size);
+	}
+
+	/**
+	 * Writes new random string to given array, one byte per character. It should be used only if alphabet, prefix
+	 * and suffix are made of ASCII characters, other characters are truncated.
+	 *
+	 * @param target array to write to
+	 * @param offset position of first written byte
+	 * @return number of written bytes
+	 */
+	public int writeTo(byte[] target, int offset) {
+		int length = _stringLength.getAsInt();
+		if(length == 0) return 0;
+
+		char[] buffer = buffer(_prefix.length() + length + _suffix.length());
+		int size = fill(buffer, length);
+		for(int i = 0; i < size; i++) {
+			target[offset + i] = (byte) buffer[i];
+		}
+		return size;
 	}
 
-	public static class Builder 
+	private int fill(char[] buffer, int length) {
+		int position = _prefix.length();
+		_prefix.getChars(0, position, buffer, 0);
+
+		Random random = RandomSource.current();
+		int end = position + length;
+		while(position < end) {
+			long bits = random.nextLong();
+			for(int n = 64 / _bitsPerChar; n > 0 && position < end; n--) {
+				int index = (int) bits & _mask;
+				bits >>>= _bitsPerChar;
+				// indexes above alphabet size are skipped, so that every character is equally likely
+				if(index < _alphabet.length) {
+					buffer[position++] = _alphabet[index];
+				}
+			}
+		}
+
+		_suffix.getChars(0, _suffix.length(), buffer, position);
+		return position + _suffix.length();
+	}
+
+	private static char[] buffer(int size) {
+		char[] buffer = BUFFER.get();
+		if(buffer.length < size) {
+			buffer = new char[Math.max(size, buffer.length * 2)];
+			BUFFER.set(buffer);
+		}
+		return buffer;
+	}
+
+	public static class Builder
 	{
-		private Supplier<Integer> _stringLength = () -> 10;
-		private IntFunction<String> _stringGenerator = RandomStringUtils::randomAlphanumeric;
+		private IntSupplier _stringLength = () -> 10;
+		private char[] _alphabet = ALPHANUMERIC;
 		private String _prefix = "";
 		private String _suffix = "";
-		
+
 		public Builder() {}
-		
+
 		public Builder length(int length) {
 			assert length >= 0 : "length should be >= 0, but " + length + " was passed";
 			_stringLength = () -> length;
 			return this;
 		}
 
+		public Builder length(IntSupplier length) {
+			_stringLength = length;
+			return this;
+		}
+
 		public Builder randomLength(int min, int max) {
 			assert min >= 0 : "min value should be >= 0, but " + min + " was passed";
 			assert max >= 0 : "max value should be >= 0, but " + max + " was passed";
 			assert min <= max : "min vlaue should be <= max";
 
-			_stringLength = () -> {
-				ThreadLocalRandom random = ThreadLocalRandom.current();
-				return random.nextInt(min, max + 1);
-			};
+			_stringLength = () -> RandomSource.nextInt(min, max + 1);
 
 			return this;
 		}
 
 		public Builder alphanumeric() {
-			_stringGenerator = RandomStringUtils::randomAlphanumeric;
+			_alphabet = ALPHANUMERIC;
 			return this;
 		}
 
 		public Builder numeric() {
-			_stringGenerator = RandomStringUtils::randomNumeric;
+			_alphabet = NUMERIC;
 			return this;
 		}
 
 		public Builder alphabetic() {
-			_stringGenerator = RandomStringUtils::randomAlphabetic;
+			_alphabet = ALPHABETIC;
+			return this;
+		}
+
+		/**
+		 * @param characters characters random part of string is made of
+		 * @return this builder
+		 * @throws IllegalArgumentException if characters are empty
+		 */
+		public Builder alphabet(String characters) {
+			if (characters.isEmpty()) {
+				throw new IllegalArgumentException("alphabet should not be empty");
+			}
+			_alphabet = characters.toCharArray();
 			return this;
 		}
 
@@ -89,14 +188,14 @@ public class RandomStringSupplier implements Supplier<String> {
 			_suffix = suffix;
 			return this;
 		}
-		
+
 		public RandomStringSupplier build() {
 			RandomStringSupplier provider = new RandomStringSupplier(
-				_stringLength, _stringGenerator, _prefix, _suffix
+				_stringLength, _alphabet, _prefix, _suffix
 			);
 			return provider;
 		}
-		
+
 		public static Builder create() { return new Builder(); }
 	}
 }
@@ -0,0 +1,94 @@
+package fluentgenerator.supplier;
+
+import fluentgenerator.core.RandomSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Supplies random subsets of given items, in random order.
+ * <p>
+ * Subset of {@code k} items is picked with partial Fisher-Yates shuffle, which takes {@code k} random swaps no matter
+ * how many items there are. Swaps are done on thread-local permutation of item indexes and undone once subset is
+ * picked, so items are never modified, supplier may be used from many threads and seeded random always yields the
+ * same subsets. Every call returns new list, or fills caller-provided array.
+ *
+ * @param <T> type of items
+ */
+public class SubsetSupplier<T> implements Supplier<List<T>> {
+
+	private final Object[] _items;
+	private final int _min;
+	private final int _max;
+	private final ThreadLocal<int[]> _scratch;
+
+	SubsetSupplier(Collection<? extends T> items, int min, int max) {
+		_items = items.toArray();
+		_min = min;
+		_max = max;
+		_scratch = ThreadLocal.withInitial(this::newScratch);
+	}
+
+	@Override
+	public List<T> get() {
+		int size = RandomSource.nextInt(_min, _max + 1);
+		List<T> result = new ArrayList<>(size);
+		pick(size, null, result);
+		return result;
+	}
+
+	/**
+	 * Puts random subset at the beginning of given array.
+	 *
+	 * @param target array to fill in, it should be able to hold maximum number of items
+	 * @return number of items in subset
+	 */
+	public int sampleInto(T[] target) {
+		assert target.length >= _max : "target should hold at least " + _max + " items";
+
+		int size = RandomSource.nextInt(_min, _max + 1);
+		pick(size, target, null);
+		return size;
+	}
+
+	/**
+	 * Picks {@code size} random items into array if it is given, or appends them to list otherwise.
+	 */
+	@SuppressWarnings("unchecked")
+	private void pick(int size, T[] array, List<T> list) {
+		int n = _items.length;
+		int[] scratch = _scratch.get();
+
+		// first n elements hold permutation of indexes, next max elements remember swaps
+		for(int i = 0; i < size; i++) {
+			int j = RandomSource.nextInt(i, n);
+			int selected = scratch[j];
+			scratch[j] = scratch[i];
+			scratch[i] = selected;
+			scratch[n + i] = j;
+			if(array != null) {
+				array[i] = (T) _items[selected];
+			} else {
+				list.add((T) _items[selected]);
+			}
+		}
+
+		for(int i = size - 1; i >= 0; i--) {
+			int j = scratch[n + i];
+			int swapped = scratch[j];
+			scratch[j] = scratch[i];
+			scratch[i] = swapped;
+		}
+	}
+
+	private int[] newScratch() {
+		int[] scratch = new int[_items.length + _max];
+		for(int i = 0; i < _items.length; i++) {
+			scratch[i] = i;
+		}
+		return scratch;
+	}
+
+}
@@ -1,13 +1,21 @@
 package fluentgenerator.supplier;
 
+import fluentgenerator.core.RandomSource;
+
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 /**
+ * Built-in suppliers.
+ * <p>
+ * Random values are drawn from {@link RandomSource}, so they are reproducible when seeded random is bound to current
+ * thread.
  *
  * @author pkorus
  */
@@ -20,8 +28,7 @@ public abstract class Suppliers {
 	
 	public static <T> Supplier<T> oneOf(List<T> items) {
 		return () -> {
-			ThreadLocalRandom random = ThreadLocalRandom.current();
-			int randInt = random.nextInt(items.size());
+			int randInt = RandomSource.nextInt(items.size());
 			return items.get(randInt);
 		};
 	}	
@@ -30,31 +37,59 @@ public abstract class Suppliers {
 		final T[] values = enumType.getEnumConstants();
 		
 		return () -> {
-			ThreadLocalRandom random = ThreadLocalRandom.current();
-			int randInt = random.nextInt(values.length);
+			int randInt = RandomSource.nextInt(values.length);
 			return values[randInt];
 		};
 	}
 	
-	public static <T> Supplier<List<T>> subsetOf(List<T> items, int min, int max) {
+	/**
+	 * @param values values mapped to their relative weights, for example number of occurrences
+	 * @return supplier of values drawn with probability proportional to their weights
+	 */
+	public static <T> WeightedSupplier<T> weighted(Map<T, ? extends Number> values) {
+		WeightedSupplier.Builder<T> builder = WeightedSupplier.Builder.create();
+		values.forEach((value, weight) -> builder.add(value, weight.doubleValue()));
+		return builder.build();
+	}
+
+	public static <T> WeightedSupplier<T> weighted(List<T> items, double[] weights) {
+		assert items.size() == weights.length : "there should be one weight per item, but " + weights.length + " weights were passed for " + items.size() + " items";
+
+		WeightedSupplier.Builder<T> builder = WeightedSupplier.Builder.create();
+		for(int i = 0; i < weights.length; i++) {
+			builder.add(items.get(i), weights[i]);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Draws items following Zipf's law: i-th item is picked with probability proportional to {@code 1 / i^exponent},
+	 * so first items are the most popular ones and the rest form long tail.
+	 *
+	 * @param items items ordered from the most popular one
+	 * @param exponent skew of distribution, usually close to 1
+	 * @return supplier of items
+	 */
+	public static <T> WeightedSupplier<T> zipf(List<T> items, double exponent) {
+		assert exponent >= 0 : "exponent should be >= 0, but " + exponent + " was passed";
+
+		double[] weights = new double[items.size()];
+		for(int i = 0; i < weights.length; i++) {
+			weights[i] = 1.0 / Math.pow(i + 1, exponent);
+		}
+		return weighted(items, weights);
+	}
+
+	public static <T> SubsetSupplier<T> subsetOf(List<T> items, int min, int max) {
 		assert min >= 0 : "min parameter should be >= 0, but " + min + " was passed";
 		assert max >= 0 : "max parameter should be >= 0, but " + max + " was passed";
 		assert max <= items.size() : "max parameters should be <= number of elements in collections, but " + max + " is not <= " + items.size();
 		assert max >= min : "max parameter should be >= min, but " + max + " is not >= " + min;
 		
-		List<T> randomizedItems = new ArrayList<>(items);
-		Collections.shuffle(randomizedItems);
-		
-		return () -> {
-			Collections.shuffle(randomizedItems);
-			
-			ThreadLocalRandom random = ThreadLocalRandom.current();
-			int numberOfElements = random.nextInt(min, max+1);
-			return randomizedItems.subList(0, numberOfElements);
-		};
+		return new SubsetSupplier<>(items, min, max);
 	}
 	
-	public static <T> Supplier<List<T>> subsetOf(List<T> items) {
+	public static <T> SubsetSupplier<T> subsetOf(List<T> items) {
 		return subsetOf(items, 0, items.size());
 	}
 	
@@ -83,6 +118,28 @@ public abstract class Suppliers {
 	}
 	
 	public static Supplier<Integer> randomInt(int min, int max) {
-		return () -> ThreadLocalRandom.current().nextInt(min, max+1);
+		return () -> RandomSource.nextInt(min, max+1);
+	}
+
+	/**
+	 * Same as {@link #randomInt(int, int)}, but values are not boxed.
+	 */
+	public static IntSupplier randomIntAsInt(int min, int max) {
+		return () -> RandomSource.nextInt(min, max+1);
+	}
+
+	/**
+	 * @return supplier of random values between min and max, inclusive
+	 */
+	public static LongSupplier randomLongAsLong(long min, long max) {
+		assert max < Long.MAX_VALUE : "max should be < Long.MAX_VALUE";
+		return () -> RandomSource.nextLong(min, max+1);
+	}
+
+	/**
+	 * @return supplier of random values between min, inclusive, and max, exclusive
+	 */
+	public static DoubleSupplier randomDoubleAsDouble(double min, double max) {
+		return () -> RandomSource.nextDouble(min, max);
 	}
 }
@@ -0,0 +1,133 @@
+package fluentgenerator.supplier;
+
+import fluentgenerator.core.RandomSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Supplies one of given values, each with probability proportional to its weight.
+ * <p>
+ * Weights are turned into alias table with Vose's method when supplier is built. Drawing value then takes one
+ * random column and one random comparison, no matter how many values there are and how weights are distributed.
+ * Weights don't have to sum up to one.
+ *
+ * @param <T> type of values
+ */
+public class WeightedSupplier<T> implements Supplier<T> {
+
+	private final Object[] _values;
+	private final double[] _probability;
+	private final int[] _alias;
+
+	private WeightedSupplier(Object[] values, double[] weights) {
+		_values = values;
+		_probability = new double[values.length];
+		_alias = new int[values.length];
+		buildAliasTable(weights);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get() {
+		return (T) _values[nextIndex()];
+	}
+
+	/**
+	 * @return index of drawn value, in order values were added
+	 */
+	public int nextIndex() {
+		Random random = RandomSource.current();
+		int column = random.nextInt(_values.length);
+		return random.nextDouble() < _probability[column] ? column : _alias[column];
+	}
+
+	private void buildAliasTable(double[] weights) {
+		int n = weights.length;
+		double sum = 0;
+		for(double w : weights) {
+			sum += w;
+		}
+
+		// columns are kept on two stacks sharing single array: small from the start, large from the end
+		double[] scaled = new double[n];
+		int[] work = new int[n];
+		int small = 0;
+		int large = n;
+		for(int i = 0; i < n; i++) {
+			scaled[i] = weights[i] * n / sum;
+			if(scaled[i] < 1.0) {
+				work[small++] = i;
+			} else {
+				work[--large] = i;
+			}
+		}
+
+		while(small > 0 && large < n) {
+			int less = work[--small];
+			int more = work[large++];
+			_probability[less] = scaled[less];
+			_alias[less] = more;
+
+			scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+			if(scaled[more] < 1.0) {
+				work[small++] = more;
+			} else {
+				work[--large] = more;
+			}
+		}
+
+		// what remains is full column, up to rounding errors
+		while(large < n) {
+			_probability[work[large++]] = 1.0;
+		}
+		while(small > 0) {
+			_probability[work[--small]] = 1.0;
+		}
+	}
+
+	public static class Builder<T>
+	{
+		private final List<T> _values = new ArrayList<>();
+		private double[] _weights = new double[8];
+
+		public Builder() {}
+
+		/**
+		 * @param value value to supply
+		 * @param weight relative weight of value
+		 * @return this builder
+		 */
+		public Builder<T> add(T value, double weight) {
+			assert weight >= 0 : "weight should be >= 0, but " + weight + " was passed";
+
+			if(_values.size() == _weights.length) {
+				double[] weights = new double[_weights.length * 2];
+				System.arraycopy(_weights, 0, weights, 0, _weights.length);
+				_weights = weights;
+			}
+			_weights[_values.size()] = weight;
+			_values.add(value);
+			return this;
+		}
+
+		public WeightedSupplier<T> build() {
+			int n = _values.size();
+			assert n > 0 : "at least one value should be added";
+
+			double[] weights = new double[n];
+			System.arraycopy(_weights, 0, weights, 0, n);
+			double sum = 0;
+			for(double w : weights) {
+				sum += w;
+			}
+			assert sum > 0 : "sum of weights should be > 0";
+
+			return new WeightedSupplier<>(_values.toArray(), weights);
+		}
+
+		public static <T> Builder<T> create() { return new Builder<>(); }
+	}
+}
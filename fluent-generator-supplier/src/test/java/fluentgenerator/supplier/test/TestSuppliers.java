@@ -3,11 +3,28 @@ package fluentgenerator.supplier.test;
 import static org.junit.Assert.*;
 import static org.hamcrest.Matchers.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
+import fluentgenerator.core.RandomSource;
+import fluentgenerator.supplier.IndexedStringSupplier;
+import fluentgenerator.supplier.RandomStringSupplier;
+import fluentgenerator.supplier.SubsetSupplier;
+import fluentgenerator.supplier.WeightedSupplier;
 import fluentgenerator.supplier.Suppliers;
 import fluentgenerator.lib.test.util.Utils;
 import org.junit.Test;
@@ -111,4 +128,148 @@ public class TestSuppliers {
 		}).times(20);
 	}
 	
+	@Test
+	public void test_subsetOf_picks_distinct_items_into_new_list() {
+		List<Integer> items = new ArrayList<>();
+		for(int i = 0; i < 100; i++) items.add(i);
+		SubsetSupplier<Integer> supplier = Suppliers.subsetOf(items, 10, 20);
+		
+		List<Integer> first = supplier.get();
+		List<Integer> second = supplier.get();
+		assertThat(new HashSet<>(first).size(), equalTo(first.size()));
+		assertThat(second, not(sameInstance(first)));
+		for(int i = 0; i < 100; i++) assertThat(items.get(i), equalTo(i));
+		
+		Integer[] target = new Integer[20];
+		int size = supplier.sampleInto(target);
+		assertThat(size, allOf(greaterThanOrEqualTo(10), lessThanOrEqualTo(20)));
+		assertThat(new HashSet<>(Arrays.asList(target).subList(0, size)).size(), equalTo(size));
+		
+		assertThat(RandomSource.withSeed(7, supplier), equalTo(RandomSource.withSeed(7, supplier)));
+	}
+	
+	@Test
+	public void test_weighted_follows_weights() {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		weights.put("rare", 1);
+		weights.put("never", 0);
+		weights.put("common", 3);
+		WeightedSupplier<String> supplier = Suppliers.weighted(weights);
+		
+		Map<String, Integer> counts = new HashMap<>();
+		for(int i = 0; i < 40000; i++) {
+			counts.merge(supplier.get(), 1, Integer::sum);
+		}
+		assertThat(counts.containsKey("never"), is(false));
+		assertThat(counts.get("common"), allOf(greaterThan(29000), lessThan(31000)));
+		
+		assertThat(RandomSource.withSeed(7, supplier), equalTo(RandomSource.withSeed(7, supplier)));
+	}
+	
+	@Test
+	public void test_zipf_prefers_first_items() {
+		WeightedSupplier<Integer> supplier = Suppliers.zipf(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), 1.0);
+		
+		int[] counts = new int[11];
+		for(int i = 0; i < 40000; i++) {
+			counts[supplier.get()]++;
+		}
+		assertThat(counts[1], greaterThan(counts[2]));
+		assertThat(counts[2], greaterThan(counts[10]));
+		assertThat(counts[1], allOf(greaterThan(2 * counts[2] - 1500), lessThan(2 * counts[2] + 1500)));
+	}
+	
+	@Test
+	public void test_seeded_values_are_reproducible() {
+		Supplier<String> string = RandomStringSupplier.Builder.create().randomLength(5, 15).build();
+		Supplier<Integer> number = Suppliers.randomInt(0, 1000);
+		Supplier<TestEnum> enumValue = Suppliers.oneOf(TestEnum.class);
+		Supplier<String> values = () -> string.get() + number.get() + enumValue.get();
+		
+		assertThat(RandomSource.withSeed(7, values), equalTo(RandomSource.withSeed(7, values)));
+	}
+	
+
+	@Test
+	public void test_primitive_random_suppliers() {
+		IntSupplier ints = Suppliers.randomIntAsInt(3, 5);
+		LongSupplier longs = Suppliers.randomLongAsLong(10L, 12L);
+		DoubleSupplier doubles = Suppliers.randomDoubleAsDouble(0.5, 1.5);
+
+		for(int i = 40; i > 0; i--) {
+			assertThat(ints.getAsInt(), allOf(greaterThanOrEqualTo(3), lessThanOrEqualTo(5)));
+			assertThat(longs.getAsLong(), allOf(greaterThanOrEqualTo(10L), lessThanOrEqualTo(12L)));
+			assertThat(doubles.getAsDouble(), allOf(greaterThanOrEqualTo(0.5), lessThan(1.5)));
+		}
+	}
+
+	@Test
+	public void test_random_string_with_primitive_length_supplier() {
+		Supplier<String> sup = RandomStringSupplier.Builder.create().length(() -> 7).build();
+
+		assertThat(sup.get().length(), equalTo(7));
+	}
+
+	@Test
+	public void test_random_string_parts() {
+		RandomStringSupplier sup = RandomStringSupplier.Builder.create().alphabet("ab").length(20)
+			.prefix("pre-").suffix("-post").build();
+
+		for(int i = 40; i > 0; i--) {
+			assertTrue(sup.get().matches("pre-[ab]{20}-post"));
+		}
+		assertTrue(RandomStringSupplier.Builder.create().numeric().length(100).build().get().matches("[0-9]{100}"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void test_random_string_empty_alphabet() {
+		RandomStringSupplier.Builder.create().alphabet("");
+	}
+
+	@Test
+	public void test_random_string_sinks() {
+		RandomStringSupplier sup = RandomStringSupplier.Builder.create().alphabetic().length(8).prefix("x").build();
+
+		StringBuilder sink = new StringBuilder("start:");
+		assertTrue(sup.appendTo(sink).toString().matches("start:x[a-zA-Z]{8}"));
+
+		byte[] bytes = new byte[12];
+		int written = sup.writeTo(bytes, 2);
+		assertThat(written, equalTo(9));
+		assertTrue(new String(bytes, 2, written, StandardCharsets.US_ASCII).matches("x[a-zA-Z]{8}"));
+	}
+
+	@Test
+	public void test_indexedString_is_unique_across_threads() throws Exception {
+		IndexedStringSupplier sup = Suppliers.indexedString("id-").blockSize(16);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<List<String>>> results = new ArrayList<>();
+		try {
+			for(int t = 0; t < 8; t++) {
+				results.add(executor.submit(() -> {
+					List<String> values = new ArrayList<>();
+					for(int i = 0; i < 1000; i++) {
+						values.add(sup.get());
+					}
+					return values;
+				}));
+			}
+
+			Set<String> unique = new HashSet<>();
+			for(Future<List<String>> result : results) {
+				unique.addAll(result.get());
+			}
+			assertThat(unique.size(), equalTo(8000));
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void test_indexedString_with_long_index() {
+		IndexedStringSupplier sup = Suppliers.indexedString("k").startFrom(Integer.MAX_VALUE + 1L);
+
+		assertThat(sup.get(), equalTo("k2147483648"));
+		assertThat(sup.appendTo(new StringBuilder()).toString(), equalTo("k2147483649"));
+	}
 }